@@ -0,0 +1,84 @@
+package io.github.tristoris.duoyunblocks.core.bench;
+
+import io.github.tristoris.duoyunblocks.core.LuckBytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Save and load of block entity luck for one chunk section packed with Duoyun blocks, per block:
+ * the byte encoding, the clamp and the omit-when-default rule, as the chunk serializer runs them.
+ * {@code tuned} is the share of blocks whose luck differs from their default and has to be written.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LuckBytesBenchmark {
+    private static final int BLOCKS = 16 * 16 * 16;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double tuned;
+
+    private final double[] luck = new double[BLOCKS];
+    private final double[] defaults = new double[BLOCKS];
+    private final byte[] stored = new byte[BLOCKS];
+    private final BitSet present = new BitSet(BLOCKS);
+    private final double[] loaded = new double[BLOCKS];
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < BLOCKS; i++) {
+            defaults[i] = random.nextInt(-100, 101);
+            luck[i] = random.nextDouble() < tuned ? random.nextInt(-120, 121) : defaults[i];
+        }
+        // guard the benchmark itself: a round trip must give back the clamped luck
+        save();
+        load();
+        for (int i = 0; i < BLOCKS; i++) {
+            if (loaded[i] != Math.max(LuckBytes.MIN, Math.min(LuckBytes.MAX, Math.round(luck[i])))) {
+                throw new IllegalStateException("luck " + luck[i] + " came back as " + loaded[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public int save() {
+        present.clear();
+        int written = 0;
+        for (int i = 0; i < BLOCKS; i++) {
+            if (LuckBytes.omit(luck[i], defaults[i])) continue;
+            stored[i] = LuckBytes.encode(luck[i]);
+            present.set(i);
+            written++;
+        }
+        return written;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public double[] load() {
+        for (int i = 0; i < BLOCKS; i++) {
+            byte value = present.get(i) ? stored[i] : LuckBytes.encode(defaults[i]);
+            loaded[i] = LuckBytes.decode(value);
+        }
+        return loaded;
+    }
+}
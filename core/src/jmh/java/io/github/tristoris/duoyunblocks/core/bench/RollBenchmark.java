@@ -0,0 +1,66 @@
+package io.github.tristoris.duoyunblocks.core.bench;
+
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import io.github.tristoris.duoyunblocks.core.LuckMath;
+import io.github.tristoris.duoyunblocks.core.RollTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** The per-break arithmetic: player luck conversion and outcome resolution for both table modes. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RollBenchmark {
+    private static final int DRAWS = 1024; // power of two, indexed with a mask
+
+    private final double[] uniforms = new double[DRAWS];
+    private final double[] attributes = new double[DRAWS];
+    private RollTable weighted;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < DRAWS; i++) {
+            uniforms[i] = random.nextDouble();
+            attributes[i] = random.nextDouble(-4.0, 4.0);
+        }
+        DuoyunOutcome[] outcomes = DuoyunOutcome.values();
+        double[] weights = new double[outcomes.length];
+        for (int i = 0; i < weights.length; i++) weights[i] = 1.0 + i;
+        weighted = RollTable.weighted(weights, outcomes);
+    }
+
+    private double next() {
+        return uniforms[cursor++ & (DRAWS - 1)];
+    }
+
+    @Benchmark
+    public double luckConverter() {
+        return LuckMath.luckConverter(attributes[cursor++ & (DRAWS - 1)]);
+    }
+
+    @Benchmark
+    public DuoyunOutcome rollThresholds() {
+        return LuckMath.roll(RollTable.DEFAULT, 20.0, 5.0, next(), next());
+    }
+
+    @Benchmark
+    public DuoyunOutcome rollWeighted() {
+        return LuckMath.roll(weighted, 20.0, 5.0, next(), next());
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.tristoris.duoyunblocks.core.bench;
+
+import io.github.tristoris.duoyunblocks.core.SprayPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spray planning for a typical nugget spray (three nugget and three ingot stacks, ~180 units):
+ * under the default entity cap every stack is packed, with a cap above the payload every unit flies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SprayPlanBenchmark {
+    private static final int[] COUNTS = {35, 27, 41, 26, 20, 30};
+    private static final int[] MAX_COUNTS = {64, 64, 64, 64, 64, 64};
+
+    @Param({"48", "1024"})
+    public int cap;
+
+    private int[] pieceStack;
+    private int[] pieceSize;
+    private int[] leftover;
+
+    @Setup
+    public void setup() {
+        pieceStack = new int[cap];
+        pieceSize = new int[cap];
+        leftover = new int[COUNTS.length];
+    }
+
+    @Benchmark
+    public int pack() {
+        return SprayPlan.pack(COUNTS, MAX_COUNTS, COUNTS.length, cap, pieceStack, pieceSize, leftover);
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.tristoris.duoyunblocks.core.bench;
+
+import io.github.tristoris.duoyunblocks.core.sched.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tick task scheduler: schedule {@code tasks} tasks with delays of up to four revolutions,
+ * then advance until every one has come due. Nodes are reused, so the numbers are the wheel's own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TimingWheelBenchmark {
+    private static final int WHEEL_BITS = 9; // as TickTasks
+    private static final int MAX_DELAY = 4 << WHEEL_BITS;
+
+    private static final class Task extends TimingWheel.Node<Task> {}
+
+    @Param({"1000", "100000", "1000000"})
+    public int tasks;
+
+    private Task[] nodes;
+    private int[] delays;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(7);
+        nodes = new Task[tasks];
+        delays = new int[tasks];
+        for (int i = 0; i < tasks; i++) {
+            nodes[i] = new Task();
+            delays[i] = random.nextInt(MAX_DELAY);
+        }
+    }
+
+    @Benchmark
+    public long scheduleAndDrain() {
+        TimingWheel<Task> wheel = new TimingWheel<>(WHEEL_BITS);
+        for (int i = 0; i < tasks; i++) wheel.scheduleIn(nodes[i], delays[i]);
+
+        int left = tasks;
+        long ran = 0;
+        while (left > 0) {
+            Task task = wheel.advance();
+            long now = wheel.now();
+            while (task != null) {
+                Task next = task.next();
+                task.setNext(null);
+                if (task.due() > now) {
+                    wheel.schedule(task, task.due());
+                } else {
+                    ran += now;
+                    left--;
+                }
+                task = next;
+            }
+        }
+        return ran;
+    }
+}
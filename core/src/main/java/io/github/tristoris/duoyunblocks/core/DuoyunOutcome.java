@@ -0,0 +1,35 @@
+package io.github.tristoris.duoyunblocks.core;
+
+/**
+ * Everything breaking a Duoyun block can lead to; referenced by id from the outcome table.
+ */
+public enum DuoyunOutcome {
+    CALAMITY("calamity"),
+    BLAZE_ARENA("blaze_arena"),
+    ZOMBIE_PIGLINS("zombie_piglins"),
+    BAD_LUCK("bad_luck"),
+    NUGGET_SPRAY("nugget_spray"),
+    FALLING_IRON("falling_iron"),
+    DIAMOND("diamond"),
+    BIG_PRIZE("big_prize");
+
+    private static final DuoyunOutcome[] VALUES = values();
+
+    private final String id;
+
+    DuoyunOutcome(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /** The outcome with {@code id}, or null. */
+    public static DuoyunOutcome byId(String id) {
+        for (DuoyunOutcome outcome : VALUES) {
+            if (outcome.id.equals(id)) return outcome;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.tristoris.duoyunblocks.core;
+
+/**
+ * The saved form of a placed block's luck: one byte, left out entirely when it equals the default.
+ *
+ * Luck only ever takes whole values in [-100, 100], which fits a signed byte; anything outside is
+ * clamped and fractions are rounded on the way in.
+ */
+public final class LuckBytes {
+    public static final int MIN = -100;
+    public static final int MAX = 100;
+
+    /** The byte stored for {@code luck}. */
+    public static byte encode(double luck) {
+        return (byte) Math.round(Math.max(MIN, Math.min(MAX, luck)));
+    }
+
+    /** True if {@code luck} saves to the same byte as {@code defaultLuck}, so nothing needs writing. */
+    public static boolean omit(double luck, double defaultLuck) {
+        return encode(luck) == encode(defaultLuck);
+    }
+
+    /** Luck read back from a stored byte. */
+    public static double decode(byte stored) {
+        return stored;
+    }
+
+    private LuckBytes() {}
+}
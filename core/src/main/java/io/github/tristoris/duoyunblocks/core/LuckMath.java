@@ -0,0 +1,47 @@
+package io.github.tristoris.duoyunblocks.core;
+
+/**
+ * The luck arithmetic of a Duoyun roll, free of any world access.
+ *
+ * A roll blends the block's luck with a bonus from the player's luck attribute, then draws a hit
+ * uniformly from a window of {@link #HIT_WINDOW} centred on the blended luck, clamped to
+ * [{@link RollTable#MIN_HIT}, {@link RollTable#MAX_HIT}]. The outcome table turns the hit into an outcome.
+ */
+public final class LuckMath {
+    /** Width of the window the hit is drawn from. */
+    public static final double HIT_WINDOW = 140.0;
+    /** Block luck plus player bonus is divided by this before it shifts the window. */
+    public static final double LUCK_DIVISOR = 2.5;
+
+    /** Maps the player's luck attribute to a bonus in (-0.45, 0.45); multiply by 100 for luck points. */
+    public static double luckConverter(double x) {
+        double x3 = x * x * x;
+        double x5 = x3 * x * x;
+        return 0.45 * Math.tanh(0.565 * x - 0.101 * x3 + 0.0151 * x5);
+    }
+
+    /** Bonus luck points for a player luck attribute value. */
+    public static double playerBonus(double playerLuck) {
+        return luckConverter(playerLuck) * 100.0;
+    }
+
+    /** The luck the hit window is centred on. */
+    public static double finalLuck(double blockLuck, double bonusLuck) {
+        return (blockLuck + bonusLuck) / LUCK_DIVISOR;
+    }
+
+    /** The hit for a uniform draw in [0, 1). */
+    public static double hit(double uniform, double finalLuck) {
+        return Math.min(Math.max((uniform - 0.5) * HIT_WINDOW + finalLuck, RollTable.MIN_HIT), RollTable.MAX_HIT);
+    }
+
+    /**
+     * A complete roll from two uniform draws in [0, 1): the first places the hit, the second is
+     * only used by weighted tables.
+     */
+    public static DuoyunOutcome roll(RollTable table, double blockLuck, double bonusLuck, double hitDraw, double tableDraw) {
+        return table.resolve(hit(hitDraw, finalLuck(blockLuck, bonusLuck)), tableDraw);
+    }
+
+    private LuckMath() {}
+}
@@ -0,0 +1,124 @@
+package io.github.tristoris.duoyunblocks.core;
+
+import java.util.Arrays;
+
+/**
+ * A compiled outcome table. Two modes:
+ *  - threshold: each entry starts at a hit value in [-100, 100] and runs up to the next one;
+ *    hits below the first entry get the fallback. Compiled to one outcome per integer hit.
+ *  - weighted: hits are ignored and entries are drawn by weight. Compiled to an alias table.
+ * Either way {@link #resolve} is a couple of array reads.
+ */
+public final class RollTable {
+    public static final int MIN_HIT = -100;
+    public static final int MAX_HIT = 100;
+
+    /** The ladder the mod shipped with before the table became data driven. */
+    public static final RollTable DEFAULT = thresholds(
+            new int[]{-100, -60, -20, 10, 30, 50},
+            new DuoyunOutcome[]{
+                    DuoyunOutcome.CALAMITY,
+                    DuoyunOutcome.BLAZE_ARENA,
+                    DuoyunOutcome.ZOMBIE_PIGLINS,
+                    DuoyunOutcome.NUGGET_SPRAY,
+                    DuoyunOutcome.FALLING_IRON,
+                    DuoyunOutcome.DIAMOND
+            },
+            DuoyunOutcome.BIG_PRIZE);
+
+    private final DuoyunOutcome[] byHit;    // threshold: index hit - MIN_HIT
+    private final DuoyunOutcome[] outcomes; // weighted: alias table columns
+    private final double[] probability;
+    private final int[] alias;
+
+    private RollTable(DuoyunOutcome[] byHit, DuoyunOutcome[] outcomes, double[] probability, int[] alias) {
+        this.byHit = byHit;
+        this.outcomes = outcomes;
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    public boolean isWeighted() {
+        return byHit == null;
+    }
+
+    /**
+     * @param hit     the luck-shifted roll in [-100, 100]
+     * @param uniform a uniform draw in [0, 1), only used by weighted tables
+     */
+    public DuoyunOutcome resolve(double hit, double uniform) {
+        if (byHit != null) {
+            // (int) truncates towards zero, which is what the old TreeMap lookup did too
+            int index = Math.min(Math.max((int) hit, MIN_HIT), MAX_HIT) - MIN_HIT;
+            return byHit[index];
+        }
+        double scaled = uniform * outcomes.length;
+        int column = Math.min((int) scaled, outcomes.length - 1);
+        return scaled - column < probability[column] ? outcomes[column] : outcomes[alias[column]];
+    }
+
+    /**
+     * A threshold table: {@code outcomes[i]} from hit {@code from[i]} on. Entries need not be sorted;
+     * hits below every entry get {@code fallback}, or the lowest entry's outcome if that is null.
+     */
+    public static RollTable thresholds(int[] from, DuoyunOutcome[] outcomes, DuoyunOutcome fallback) {
+        if (from.length == 0 || from.length != outcomes.length) {
+            throw new IllegalArgumentException("Threshold table needs one outcome per threshold");
+        }
+        Integer[] order = new Integer[from.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(from[a], from[b]));
+
+        DuoyunOutcome[] byHit = new DuoyunOutcome[MAX_HIT - MIN_HIT + 1];
+        int next = 0;
+        DuoyunOutcome current = fallback != null ? fallback : outcomes[order[0]];
+        for (int hit = MIN_HIT; hit <= MAX_HIT; hit++) {
+            while (next < order.length && from[order[next]] <= hit) {
+                current = outcomes[order[next++]];
+            }
+            byHit[hit - MIN_HIT] = current;
+        }
+        return new RollTable(byHit, null, null, null);
+    }
+
+    /** A weighted table, compiled with Vose's alias method. */
+    public static RollTable weighted(double[] weights, DuoyunOutcome[] outcomes) {
+        int n = weights.length;
+        if (n == 0 || n != outcomes.length) {
+            throw new IllegalArgumentException("Weighted table needs one outcome per weight");
+        }
+        double total = 0.0;
+        for (double w : weights) {
+            if (!(w >= 0.0)) throw new IllegalArgumentException("Negative or NaN weight " + w);
+            total += w;
+        }
+        if (total <= 0.0) throw new IllegalArgumentException("Weighted table has no positive weight");
+
+        double[] scaled = new double[n];
+        for (int i = 0; i < n; i++) scaled[i] = weights[i] * n / total;
+
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (scaled[i] < 1.0) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            probability[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = scaled[l] + scaled[s] - 1.0;
+            if (scaled[l] < 1.0) small[smallCount++] = l;
+            else large[largeCount++] = l;
+        }
+        while (largeCount > 0) probability[large[--largeCount]] = 1.0;
+        while (smallCount > 0) probability[small[--smallCount]] = 1.0; // rounding leftovers
+
+        return new RollTable(null, outcomes.clone(), probability, alias);
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.tristoris.duoyunblocks.core;
+
+/**
+ * How a spray payload is split into flying pieces under an entity cap, in plain numbers.
+ *
+ * The payload is a list of stacks given as parallel {@code counts}/{@code maxCounts} arrays.
+ * Within {@code cap} every unit flies on its own; above it each stack gets a share of the cap
+ * proportional to its count and is divided evenly across that share, and units that would need
+ * more than {@code cap} pieces are left over for plain pickup stacks.
+ */
+public final class SprayPlan {
+
+    /**
+     * Fills {@code pieceStack}/{@code pieceSize} (at least {@link #maxPieces} long) with the pieces to spray
+     * and {@code leftover} (at least {@code stacks} long) with the units of each stack that do not fly.
+     * Returns the number of pieces.
+     */
+    public static int pack(int[] counts, int[] maxCounts, int stacks, int cap,
+                           int[] pieceStack, int[] pieceSize, int[] leftover) {
+        long total = 0;
+        for (int s = 0; s < stacks; s++) total += Math.max(0, counts[s]);
+
+        int pieces = 0;
+        if (total <= cap) {
+            for (int s = 0; s < stacks; s++) {
+                leftover[s] = 0;
+                for (int i = 0; i < counts[s]; i++) {
+                    pieceStack[pieces] = s;
+                    pieceSize[pieces++] = 1;
+                }
+            }
+            return pieces;
+        }
+
+        int budget = cap;
+        for (int s = 0; s < stacks; s++) {
+            int count = counts[s];
+            leftover[s] = 0;
+            if (count <= 0) continue;
+
+            int share = Math.min(Math.min(budget, count), Math.max(1, (int) ((long) cap * count / total)));
+            int packed = Math.min(count, share * maxCounts[s]);
+            for (int i = 0; i < share; i++) {
+                int size = packed / (share - i);
+                pieceStack[pieces] = s;
+                pieceSize[pieces++] = size;
+                packed -= size;
+                count -= size;
+                budget--;
+            }
+            leftover[s] = count;
+        }
+        return pieces;
+    }
+
+    /** Most pieces {@link #pack} can return: the cap, or the whole payload if that is smaller. */
+    public static int maxPieces(int[] counts, int stacks, int cap) {
+        long total = 0;
+        for (int s = 0; s < stacks; s++) total += Math.max(0, counts[s]);
+        return (int) Math.min(cap, total);
+    }
+
+    private SprayPlan() {}
+}
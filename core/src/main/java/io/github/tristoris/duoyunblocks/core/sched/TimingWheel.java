@@ -0,0 +1,81 @@
+package io.github.tristoris.duoyunblocks.core.sched;
+
+/**
+ * A hashed timing wheel of intrusive nodes, without any notion of what the nodes do.
+ *
+ * Nodes are filed under the absolute tick they are due on, so scheduling is O(1) and a tick only
+ * looks at the slot that is due. Nodes further out than one revolution share a slot with nearer
+ * ones; {@link #advance} hands back the whole slot and the owner puts those back with
+ * {@link #schedule} (they land in the same slot again).
+ *
+ * Not thread-safe.
+ *
+ * @param <N> the owner's node type
+ */
+public final class TimingWheel<N extends TimingWheel.Node<N>> {
+
+    /** A schedulable entry; its link doubles as free storage for lists the owner keeps itself. */
+    public abstract static class Node<N extends Node<N>> {
+        long due;
+        N next;
+
+        public long due() {
+            return due;
+        }
+
+        public N next() {
+            return next;
+        }
+
+        public void setNext(N next) {
+            this.next = next;
+        }
+    }
+
+    private final N[] heads;
+    private final N[] tails;
+    private final int mask;
+    private long now;
+
+    /** @param bits log2 of the number of slots, i.e. ticks per revolution */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int bits) {
+        int size = 1 << bits;
+        this.heads = (N[]) new Node<?>[size];
+        this.tails = (N[]) new Node<?>[size];
+        this.mask = size - 1;
+    }
+
+    /** The tick most recently advanced to. */
+    public long now() {
+        return now;
+    }
+
+    /** Files {@code node} {@code delay} ticks from now; a zero delay still waits for the next advance. */
+    public void scheduleIn(N node, int delay) {
+        schedule(node, now + Math.max(1, delay));
+    }
+
+    /** Files {@code node} under absolute tick {@code due}, which must be after {@link #now()}. */
+    public void schedule(N node, long due) {
+        node.due = due;
+        int slot = (int) (due & mask);
+        if (tails[slot] == null) heads[slot] = node;
+        else tails[slot].next = node;
+        tails[slot] = node;
+    }
+
+    /**
+     * Moves to the next tick and detaches its slot, so nodes scheduled while the caller walks it
+     * land on a fresh list. Returns the first node of the slot (follow {@link Node#next()}), or
+     * null. Nodes whose {@link Node#due()} is still ahead must be given back with {@link #schedule}.
+     */
+    public N advance() {
+        now++;
+        int slot = (int) (now & mask);
+        N head = heads[slot];
+        heads[slot] = null;
+        tails[slot] = null;
+        return head;
+    }
+}
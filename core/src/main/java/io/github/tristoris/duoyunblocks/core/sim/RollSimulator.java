@@ -0,0 +1,169 @@
+package io.github.tristoris.duoyunblocks.core.sim;
+
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import io.github.tristoris.duoyunblocks.core.LuckMath;
+import io.github.tristoris.duoyunblocks.core.RollTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+/**
+ * Monte Carlo outcome distributions for a sweep of block luck and player luck values.
+ *
+ * <pre>
+ * RollSimulator [--rolls N] [--block FROM:TO:STEP] [--player FROM:TO:STEP] [--seed S]
+ *               [--thresholds "-100=calamity,-60=blaze_arena,...[;fallback=big_prize]"]
+ *               [--weights "calamity=1,diamond=3,..."]
+ * </pre>
+ *
+ * Every (block, player) cell gets N rolls, split into fixed-size tasks that run on the common
+ * fork-join pool. Each task seeds its own generator from the seed, the cell and the task index,
+ * so a run gives the same numbers whatever the core count. Without a table option the built-in
+ * default ladder is used; player luck is the luck attribute value, as in game.
+ */
+public final class RollSimulator {
+    private static final long TASK_ROLLS = 1L << 22;
+    private static final DuoyunOutcome[] OUTCOMES = DuoyunOutcome.values();
+
+    public static void main(String[] args) {
+        long rolls = 10_000_000L;
+        double[] block = range("-100:100:25");
+        double[] player = range("0:2:1");
+        long seed = 0x5EEDL;
+        RollTable table = RollTable.DEFAULT;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (arg) {
+                case "--rolls" -> rolls = Long.parseLong(require(arg, value).replace("_", ""));
+                case "--block" -> block = range(require(arg, value));
+                case "--player" -> player = range(require(arg, value));
+                case "--seed" -> seed = Long.parseLong(require(arg, value));
+                case "--thresholds" -> table = parseThresholds(require(arg, value));
+                case "--weights" -> table = parseWeights(require(arg, value));
+                case "--help", "-h" -> {
+                    usage();
+                    return;
+                }
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+            i++;
+        }
+
+        StringBuilder header = new StringBuilder(String.format(Locale.ROOT, "%7s %7s %7s", "block", "player", "bonus"));
+        for (DuoyunOutcome outcome : OUTCOMES) header.append(String.format(Locale.ROOT, " %14s", outcome.id()));
+        System.out.println(header);
+
+        long start = System.nanoTime();
+        int cell = 0;
+        for (double blockLuck : block) {
+            for (double playerLuck : player) {
+                long[] counts = simulate(table, blockLuck, playerLuck, rolls, seed, cell++);
+                StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "%7.1f %7.2f %7.2f",
+                        blockLuck, playerLuck, LuckMath.playerBonus(playerLuck)));
+                for (long count : counts) row.append(String.format(Locale.ROOT, " %13.4f%%", 100.0 * count / rolls));
+                System.out.println(row);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long total = rolls * cell;
+        System.out.printf(Locale.ROOT, "%,d rolls in %.2f s (%,.0f rolls/s) on %d threads%n",
+                total, seconds, total / seconds, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Outcome counts, indexed by ordinal, for {@code rolls} rolls of one cell. */
+    public static long[] simulate(RollTable table, double blockLuck, double playerLuck, long rolls, long seed, int cell) {
+        double bonus = LuckMath.playerBonus(playerLuck);
+        long tasks = (rolls + TASK_ROLLS - 1) / TASK_ROLLS;
+        return LongStream.range(0, tasks).parallel()
+                .mapToObj(task -> {
+                    long n = Math.min(TASK_ROLLS, rolls - task * TASK_ROLLS);
+                    SplittableRandom random = new SplittableRandom(mix(seed, cell, task));
+                    long[] counts = new long[OUTCOMES.length];
+                    for (long i = 0; i < n; i++) {
+                        counts[LuckMath.roll(table, blockLuck, bonus, random.nextDouble(), random.nextDouble()).ordinal()]++;
+                    }
+                    return counts;
+                })
+                .reduce(new long[OUTCOMES.length], (a, b) -> {
+                    long[] sum = new long[a.length];
+                    for (int i = 0; i < sum.length; i++) sum[i] = a[i] + b[i];
+                    return sum;
+                });
+    }
+
+    private static long mix(long seed, int cell, long task) {
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) cell << 32) + task + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double[] range(String spec) {
+        String[] parts = spec.split(":");
+        double from = Double.parseDouble(parts[0]);
+        double to = parts.length > 1 ? Double.parseDouble(parts[1]) : from;
+        double step = parts.length > 2 ? Double.parseDouble(parts[2]) : 1.0;
+        if (step <= 0) throw new IllegalArgumentException("Step must be positive: " + spec);
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; from + i * step <= to + 1e-9; i++) values.add(from + i * step);
+        double[] result = new double[values.size()];
+        for (int i = 0; i < result.length; i++) result[i] = values.get(i);
+        return result;
+    }
+
+    private static RollTable parseThresholds(String spec) {
+        String[] sections = spec.split(";");
+        DuoyunOutcome fallback = null;
+        for (int i = 1; i < sections.length; i++) {
+            String[] kv = sections[i].split("=", 2);
+            if (kv[0].trim().equals("fallback")) fallback = outcome(kv[1]);
+        }
+        String[] entries = sections[0].split(",");
+        int[] from = new int[entries.length];
+        DuoyunOutcome[] outcomes = new DuoyunOutcome[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            // split on the '=' after the (possibly negative) threshold
+            String[] kv = entries[i].trim().split("=", 2);
+            from[i] = Integer.parseInt(kv[0].trim());
+            outcomes[i] = outcome(kv[1]);
+        }
+        return RollTable.thresholds(from, outcomes, fallback);
+    }
+
+    private static RollTable parseWeights(String spec) {
+        String[] entries = spec.split(",");
+        double[] weights = new double[entries.length];
+        DuoyunOutcome[] outcomes = new DuoyunOutcome[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] kv = entries[i].trim().split("=", 2);
+            outcomes[i] = outcome(kv[0]);
+            weights[i] = Double.parseDouble(kv[1].trim());
+        }
+        return RollTable.weighted(weights, outcomes);
+    }
+
+    private static DuoyunOutcome outcome(String id) {
+        DuoyunOutcome outcome = DuoyunOutcome.byId(id.trim());
+        if (outcome == null) throw new IllegalArgumentException("Unknown outcome " + id);
+        return outcome;
+    }
+
+    private static String require(String option, String value) {
+        if (value == null) throw new IllegalArgumentException(option + " needs a value");
+        return value;
+    }
+
+    private static void usage() {
+        System.out.println("""
+                Usage: RollSimulator [--rolls N] [--block FROM:TO:STEP] [--player FROM:TO:STEP] [--seed S]
+                                     [--thresholds "-100=calamity,-60=blaze_arena,...[;fallback=big_prize]"]
+                                     [--weights "calamity=1,diamond=3,..."]""");
+    }
+
+    private RollSimulator() {}
+}
@@ -1,10 +1,11 @@
 package io.github.tristoris.duoyunblocks;
 
+import io.github.tristoris.duoyunblocks.network.FireworkShowClient;
 import net.fabricmc.api.ClientModInitializer;
 
 public class DuoyunBlocksClient implements ClientModInitializer {
     @Override
     public void onInitializeClient() {
-
+        FireworkShowClient.init(); // client-simulated reward fireworks
     }
 }
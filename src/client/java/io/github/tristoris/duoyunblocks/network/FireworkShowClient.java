@@ -0,0 +1,103 @@
+package io.github.tristoris.duoyunblocks.network;
+
+import io.github.tristoris.duoyunblocks.util.FireworkVariants;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.component.type.FireworkExplosionComponent;
+import net.minecraft.component.type.FireworksComponent;
+import net.minecraft.particle.ParticleTypes;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.util.math.random.Random;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Flies the rockets of a {@link FireworkShowPayload} on the client, following the vanilla
+ * rocket's motion, trail and lifetime, without any entity on either side.
+ */
+public final class FireworkShowClient {
+    private static final List<Rocket> ROCKETS = new ArrayList<>();
+
+    private static final class Rocket {
+        private final List<FireworkExplosionComponent> explosions;
+        private final Random random;
+        private final int lifetime;
+        private int delay;
+        private int age;
+        private double x, y, z;
+        private double vx, vy, vz;
+
+        private Rocket(double x, double y, double z, FireworksComponent fireworks, int delay, long seed) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.delay = delay;
+            this.random = Random.create(seed);
+            this.explosions = fireworks.explosions();
+            // same spread as a rocket launched from a dispenser or by hand
+            this.vx = random.nextTriangular(0.0, 0.002297);
+            this.vy = 0.05;
+            this.vz = random.nextTriangular(0.0, 0.002297);
+            this.lifetime = 10 * (1 + fireworks.flightDuration()) + random.nextInt(6) + random.nextInt(7);
+        }
+    }
+
+    public static void init() {
+        ClientPlayNetworking.registerGlobalReceiver(FireworkShowPayload.ID, (payload, context) -> {
+            double ox = payload.origin().getX();
+            double oz = payload.origin().getZ();
+            List<FireworkShowPayload.Rocket> rockets = payload.rockets();
+            for (int i = 0; i < rockets.size(); i++) {
+                FireworkShowPayload.Rocket r = rockets.get(i);
+                ROCKETS.add(new Rocket(ox + r.dx(), r.y(), oz + r.dz(),
+                        FireworkVariants.get(r.variant()), r.delay(), payload.seed() + i));
+            }
+        });
+        ClientTickEvents.END_CLIENT_TICK.register(FireworkShowClient::tick);
+    }
+
+    private static void tick(MinecraftClient client) {
+        ClientWorld world = client.world;
+        if (world == null) {
+            ROCKETS.clear();
+            return;
+        }
+        if (client.isPaused() || ROCKETS.isEmpty()) return;
+
+        for (Iterator<Rocket> it = ROCKETS.iterator(); it.hasNext(); ) {
+            Rocket r = it.next();
+            if (r.delay > 0) {
+                r.delay--;
+                continue;
+            }
+            if (r.age == 0) {
+                world.playSoundClient(r.x, r.y, r.z, SoundEvents.ENTITY_FIREWORK_ROCKET_LAUNCH,
+                        SoundCategory.AMBIENT, 3.0F, 1.0F, true);
+            }
+
+            r.vx *= 1.15;
+            r.vz *= 1.15;
+            r.vy += 0.04;
+            r.x += r.vx;
+            r.y += r.vy;
+            r.z += r.vz;
+
+            world.addParticleClient(ParticleTypes.FIREWORK, r.x, r.y, r.z,
+                    r.random.nextGaussian() * 0.05, -r.vy * 0.5, r.random.nextGaussian() * 0.05);
+
+            if (++r.age > r.lifetime) {
+                if (!r.explosions.isEmpty()) {
+                    world.addFireworkParticle(r.x, r.y, r.z, r.vx, r.vy, r.vz, r.explosions);
+                }
+                it.remove();
+            }
+        }
+    }
+
+    private FireworkShowClient() {}
+}
@@ -0,0 +1,53 @@
+package io.github.tristoris.duoyunblocks.test;
+
+import io.github.tristoris.duoyunblocks.components.DuoyunStats;
+import io.github.tristoris.duoyunblocks.components.ModDataComponents;
+import io.github.tristoris.duoyunblocks.items.DuoyunBlockItem;
+import io.github.tristoris.duoyunblocks.items.ItemDefiner;
+import net.fabricmc.fabric.api.gametest.v1.GameTest;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.registry.Registries;
+import net.minecraft.test.TestContext;
+import net.minecraft.text.Text;
+
+/**
+ * Duoyun item stacks as saved by earlier versions of the mod.
+ */
+public final class DuoyunItemTests {
+    private static final int LEGACY_LUCK = 42;
+
+    /** A stack saved before STATS existed keeps its luck, and the next write moves it into STATS. */
+    @GameTest
+    public void legacyLuckPatch(TestContext context) {
+        String id = Registries.ITEM.getId(ItemDefiner.DUOYUN_BLOCK_ITEM_BAD_LUCK).toString();
+        NbtCompound components = new NbtCompound();
+        components.putInt(Registries.DATA_COMPONENT_TYPE.getId(ModDataComponents.LUCK).toString(), LEGACY_LUCK);
+        NbtCompound saved = new NbtCompound();
+        saved.putString("id", id);
+        saved.putInt("count", 1);
+        saved.put("components", components);
+
+        ItemStack stack = ItemStack.CODEC
+                .parse(context.getWorld().getRegistryManager().getOps(NbtOps.INSTANCE), saved)
+                .getOrThrow(error -> new IllegalStateException("could not load " + saved + ": " + error));
+
+        context.assertTrue(stack.contains(ModDataComponents.STATS),
+                Text.literal("expected the item's default STATS next to the LUCK patch"));
+        context.assertTrue(DuoyunBlockItem.getLuck(stack) == LEGACY_LUCK,
+                Text.literal("legacy luck " + LEGACY_LUCK + " read as " + DuoyunBlockItem.getLuck(stack)));
+
+        DuoyunBlockItem.increaseLuck(stack, 1);
+        DuoyunStats stats = stack.get(ModDataComponents.STATS);
+        context.assertTrue(!stack.contains(ModDataComponents.LUCK), Text.literal("LUCK patch left after a write"));
+        context.assertTrue(stats != null && stats.luck() == LEGACY_LUCK + 1,
+                Text.literal("expected STATS luck " + (LEGACY_LUCK + 1) + ", got " + stats));
+
+        ItemStack fresh = ItemDefiner.DUOYUN_BLOCK_ITEM_BAD_LUCK.getDefaultStack();
+        int defaultLuck = ((DuoyunBlockItem) ItemDefiner.DUOYUN_BLOCK_ITEM_BAD_LUCK).getDefaultLuck();
+        context.assertTrue(DuoyunBlockItem.getLuck(fresh) == defaultLuck,
+                Text.literal("a fresh stack read as " + DuoyunBlockItem.getLuck(fresh) + ", not " + defaultLuck));
+        context.complete();
+    }
+}
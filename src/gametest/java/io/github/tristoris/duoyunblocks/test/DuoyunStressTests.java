@@ -0,0 +1,65 @@
+package io.github.tristoris.duoyunblocks.test;
+
+import io.github.tristoris.duoyunblocks.metrics.StressScenarios;
+import net.fabricmc.fabric.api.gametest.v1.GameTest;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.test.TestContext;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The {@link StressScenarios} as a regression suite: every scenario has to stay within its bounds on
+ * tick time, entities spawned and block writes. The breaks are rolled from SEED, so their entity and
+ * write bounds follow from what those rolls give; the tick budget is wall-clock time, see
+ * {@link StressScenarios} for how to raise it on a slow machine.
+ *
+ * The scenarios share the metrics counters, so they run one after another in a single test rather
+ * than as parallel tests. Each waits for the previous one's result, asserts on it, then starts.
+ */
+public final class DuoyunStressTests {
+    private static final long SEED = 0x5EED_D00DL;
+    private static final int BREAKS = 512;
+    private static final int[] BREAK_LUCK = {-100, 0, 100};
+    private static final int ARENAS = 4;
+    private static final int REWARDS = 64;
+    private static final int ALLOC_ROLLS = 100_000;
+    private static final int SETTLE_SLACK = 5;
+
+    @GameTest(maxTicks = 12_000)
+    public void loadScenarios(TestContext context) {
+        ServerWorld world = context.getWorld();
+        BlockPos origin = context.getAbsolutePos(new BlockPos(0, 1, 0));
+
+        Runnable last = () -> {
+            StressScenarios.Allocation allocation = StressScenarios.allocation(world, origin, ALLOC_ROLLS);
+            context.assertTrue(allocation != null, Text.literal("per-thread allocation is not measurable on this JVM"));
+            context.assertTrue(allocation.passed(), Text.literal(allocation.report()));
+            context.complete();
+        };
+        Runnable rewards = next(context, last, done -> StressScenarios.rewards(world, origin, REWARDS, done));
+        Runnable arenas = next(context, rewards, done -> StressScenarios.arenas(world, origin.add(0, 0, 64), ARENAS, done));
+        Runnable chain = arenas;
+        for (int i = BREAK_LUCK.length - 1; i >= 0; i--) {
+            int luck = BREAK_LUCK[i];
+            chain = next(context, chain, done -> StressScenarios.breaks(world, origin, BREAKS, luck, SEED, done));
+        }
+        chain.run();
+    }
+
+    /** Starts a scenario, then asserts on its result once it has settled and moves on to {@code then}. */
+    private static Runnable next(TestContext context, Runnable then,
+                                 Function<Consumer<StressScenarios.Result>, StressScenarios.Run> scenario) {
+        return () -> {
+            StressScenarios.Result[] result = new StressScenarios.Result[1];
+            StressScenarios.Run run = scenario.apply(done -> result[0] = done);
+            context.waitAndRun(run.settleTicks() + SETTLE_SLACK, () -> {
+                context.assertTrue(result[0] != null, Text.literal("Stress " + run.name() + " never settled"));
+                context.assertTrue(result[0].passed(), Text.literal(result[0].report()));
+                then.run();
+            });
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.tristoris.duoyunblocks.bench;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Locale;
+
+/**
+ * Runs the benchmarks matching a regex with the GC profiler and fails if any of them allocates
+ * more than a few bytes per operation. Arguments: the regex, then the limit in bytes per operation.
+ *
+ * A limit of about 0 rather than exactly 0, since the profiler's per-operation figure picks up a
+ * fraction of a byte from the harness itself.
+ */
+public final class AllocationGate {
+    private static final String NORM = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args[0];
+        double limit = Double.parseDouble(args[1]);
+
+        int failed = 0;
+        for (RunResult run : new Runner(new OptionsBuilder().include(include).addProfiler(GCProfiler.class).build()).run()) {
+            String name = name(run.getParams());
+            Result<?> norm = run.getSecondaryResults().get(NORM);
+            if (norm == null) throw new IllegalStateException("No " + NORM + " for " + name);
+            boolean passed = norm.getScore() <= limit;
+            if (!passed) failed++;
+            System.out.printf(Locale.ROOT, "%s %s: %.3f B/op (<= %.1f)%n", passed ? "PASS" : "FAIL", name, norm.getScore(), limit);
+        }
+        if (failed > 0) {
+            System.err.println(failed + " benchmark(s) allocate more than " + limit + " B/op");
+            System.exit(1);
+        }
+    }
+
+    private static String name(BenchmarkParams params) {
+        StringBuilder name = new StringBuilder(params.getBenchmark());
+        for (String key : params.getParamsKeys()) name.append(' ').append(key).append('=').append(params.getParam(key));
+        return name.toString();
+    }
+
+    private AllocationGate() {}
+}
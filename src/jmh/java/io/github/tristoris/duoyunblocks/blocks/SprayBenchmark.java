@@ -0,0 +1,71 @@
+package io.github.tristoris.duoyunblocks.blocks;
+
+import io.github.tristoris.duoyunblocks.outcome.OutcomeLoot;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.Item;
+import net.minecraft.util.math.random.LocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The world-free part of a nugget spray, as a break runs it: drawing the payload into arrays, and
+ * planning it (packing, shuffling, burst sizes and seeds) as {@link DuoyunSpray#payload} does for
+ * {@code breaks} coalesced sprays. Both have to stay at 0 B/op; the item entities spawned
+ * afterwards are the spray's only allocations.
+ *
+ * {@code cap} is the duoyunSprayEntityCap gamerule: the default, and one above any payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SprayBenchmark {
+    private static final int STACKS = OutcomeLoot.NUGGET_SPRAY_STACKS;
+
+    @Param({"48", "1024"})
+    public int cap;
+
+    @Param({"1", "16"})
+    public int breaks;
+
+    private final Item[] items = new Item[STACKS];
+    private final int[] counts = new int[STACKS];
+    private final LocalRandom rand = new LocalRandom(0L);
+    private final DuoyunSpray.Scratch scratch = new DuoyunSpray.Scratch();
+    private long seed;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    @Benchmark
+    public Item[] nuggetSpray() {
+        rand.setSeed(++seed);
+        OutcomeLoot.nuggetSpray(rand, items, counts);
+        return items;
+    }
+
+    @Benchmark
+    public int payload() {
+        rand.setSeed(++seed);
+        OutcomeLoot.nuggetSpray(rand, items, counts);
+        for (int s = 0; s < STACKS; s++) counts[s] *= breaks;
+        return DuoyunSpray.plan(scratch, items, counts, STACKS, cap, rand);
+    }
+}
@@ -1,11 +1,24 @@
 package io.github.tristoris.duoyunblocks;
 
+import io.github.tristoris.duoyunblocks.audit.RollAudit;
 import io.github.tristoris.duoyunblocks.blocks.BlockDefiner;
+import io.github.tristoris.duoyunblocks.blocks.DuoyunBatch;
+import io.github.tristoris.duoyunblocks.blocks.DuoyunGlowManager;
+import io.github.tristoris.duoyunblocks.blocks.LuckStorage;
+import io.github.tristoris.duoyunblocks.command.DuoyunCommands;
+import io.github.tristoris.duoyunblocks.components.ModAttachments;
 import io.github.tristoris.duoyunblocks.components.ModDataComponents;
 import io.github.tristoris.duoyunblocks.creative.CreativeTabDefiner;
 import io.github.tristoris.duoyunblocks.entities.EntityDefiner;
+import io.github.tristoris.duoyunblocks.events.BlazeArenaEvent;
 import io.github.tristoris.duoyunblocks.items.ItemDefiner;
+import io.github.tristoris.duoyunblocks.metrics.StressScenarios;
+import io.github.tristoris.duoyunblocks.network.ModNetworking;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeTables;
 import io.github.tristoris.duoyunblocks.recipe.DuoyunBlockRecipes;
+import io.github.tristoris.duoyunblocks.util.Diagnostics;
+import io.github.tristoris.duoyunblocks.util.DuoyunGameRules;
+import io.github.tristoris.duoyunblocks.util.TickTasks;
 import net.fabricmc.api.ModInitializer;
 
 import net.fabricmc.fabric.api.biome.v1.BiomeModifications;
@@ -29,12 +42,25 @@ public class DuoyunBlocks implements ModInitializer {
 	@Override
 	public void onInitialize() {
 		ModDataComponents.registerModDataComponents(); // components first (common side)
+		ModAttachments.registerModAttachments();       // entity attachments, before any world loads
+		DuoyunGameRules.init();  // server-tunable limits
 
 		BlockDefiner.init();     // triggers static registration
 		ItemDefiner.init();      // triggers static registration (BlockItem exists now)
 		EntityDefiner.init();    // block entity type
 		DuoyunBlockRecipes.init(); // recipe serializers
 		CreativeTabDefiner.init();
+		ModNetworking.init();      // payload types (both sides)
+		LuckStorage.init();        // luck in block entities or block states
+		DuoyunGlowManager.init();  // dusk/dawn LIT flips
+		DuoyunBatch.init();        // per-tick coalescing of Duoyun destructions
+		TickTasks.init();          // delayed task wheel
+		BlazeArenaEvent.init();    // arena builds, blaze deaths, registry sweeps
+		OutcomeTables.init();      // datapack outcome table, recompiled on /reload
+		DuoyunCommands.init();     // /duoyun operator command
+		Diagnostics.init();        // rate-limited diagnostics, chat only for subscribers
+		RollAudit.init();          // binary roll audit log, written off-thread
+		StressScenarios.init();    // load scenarios for /duoyun stress and the GameTest suite
 
 		RegistryKey<PlacedFeature> DUOYUN_SINGLE_BLOCK_PLACED =
 				RegistryKey.of(RegistryKeys.PLACED_FEATURE, Identifier.of(MOD_ID, "generated_duoyun_block_single"));
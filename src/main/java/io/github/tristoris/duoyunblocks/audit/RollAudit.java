@@ -0,0 +1,244 @@
+package io.github.tristoris.duoyunblocks.audit;
+
+import io.github.tristoris.duoyunblocks.DuoyunBlocks;
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * Append-only binary log of every Duoyun roll, one file per UTC day under {@code <world>/duoyun-audit/}.
+ *
+ * Records are {@link #RECORD_BYTES} bytes, little endian:
+ * <pre>
+ *  0 long  epoch millis          40 int   z
+ *  8 long  roll seed             44 int   dimension (hash of its id)
+ * 16 long  player uuid, high     48 float block luck
+ * 24 long  player uuid, low      52 float bonus luck
+ * 32 int   x                     56 float hit
+ * 36 int   y                     60 byte  outcome, 61 byte source, 62 padding
+ * </pre>
+ * A zero uuid means no player (an opener). The server thread only copies a record
+ * into a single-producer ring buffer; a virtual thread drains the ring to disk. If the ring is
+ * ever full, records are dropped and counted rather than blocking the tick.
+ */
+public final class RollAudit {
+    public static final int RECORD_BYTES = 64;
+
+    private static final int RING_RECORDS = 1 << 12; // 256 KiB
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+    private static final String DIRECTORY = "duoyun-audit";
+    private static final long QUERY_WINDOW_RECORDS = (64 << 20) / RECORD_BYTES; // 64 MiB mapped at a time
+
+    public enum Source {
+        BREAK,
+        OPENER
+    }
+
+    /** One decoded record. */
+    public record Entry(long time, long seed, @Nullable UUID player, int x, int y, int z, int dimension,
+                        float blockLuck, float bonusLuck, float hit, DuoyunOutcome outcome, Source source) {
+
+        private static Entry read(ByteBuffer buf, int at) {
+            long most = buf.getLong(at + 16);
+            long least = buf.getLong(at + 24);
+            DuoyunOutcome[] outcomes = DuoyunOutcome.values();
+            Source[] sources = Source.values();
+            return new Entry(
+                    buf.getLong(at),
+                    buf.getLong(at + 8),
+                    most == 0 && least == 0 ? null : new UUID(most, least),
+                    buf.getInt(at + 32), buf.getInt(at + 36), buf.getInt(at + 40), buf.getInt(at + 44),
+                    buf.getFloat(at + 48), buf.getFloat(at + 52), buf.getFloat(at + 56),
+                    outcomes[Math.min(buf.get(at + 60) & 0xFF, outcomes.length - 1)],
+                    sources[Math.min(buf.get(at + 61) & 0xFF, sources.length - 1)]);
+        }
+
+        public BlockPos pos() {
+            return new BlockPos(x, y, z);
+        }
+    }
+
+    // --- ring: written by the server thread only, read by the writer thread only ---
+    private static final ByteBuffer RING = ByteBuffer.allocateDirect(RING_RECORDS * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private static final AtomicLong HEAD = new AtomicLong(); // next record to write
+    private static final AtomicLong TAIL = new AtomicLong(); // next record to flush
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    private static volatile Path directory;
+    private static volatile boolean running;
+    private static volatile Thread writer;
+
+    public static void init() {
+        ServerLifecycleEvents.SERVER_STARTED.register(RollAudit::start);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> stop());
+    }
+
+    /** Queues a roll; server thread only, never touches the disk. */
+    public static void record(ServerWorld world, BlockPos pos, @Nullable UUID player, Source source,
+                              double blockLuck, double bonusLuck, double hit, DuoyunOutcome outcome, long seed) {
+        if (!running) return;
+        long head = HEAD.get();
+        if (head - TAIL.get() >= RING_RECORDS) {
+            DROPPED.incrementAndGet();
+            return;
+        }
+        int at = (int) (head & (RING_RECORDS - 1)) * RECORD_BYTES;
+        encode(RING, at, System.currentTimeMillis(), seed, player, pos,
+                world.getRegistryKey().getValue().hashCode(), blockLuck, bonusLuck, hit, outcome, source);
+        HEAD.lazySet(head + 1);
+    }
+
+    private static void encode(ByteBuffer buf, int at, long time, long seed, @Nullable UUID player, BlockPos pos,
+                               int dimension, double blockLuck, double bonusLuck, double hit,
+                               DuoyunOutcome outcome, Source source) {
+        buf.putLong(at, time);
+        buf.putLong(at + 8, seed);
+        buf.putLong(at + 16, player == null ? 0L : player.getMostSignificantBits());
+        buf.putLong(at + 24, player == null ? 0L : player.getLeastSignificantBits());
+        buf.putInt(at + 32, pos.getX());
+        buf.putInt(at + 36, pos.getY());
+        buf.putInt(at + 40, pos.getZ());
+        buf.putInt(at + 44, dimension);
+        buf.putFloat(at + 48, (float) blockLuck);
+        buf.putFloat(at + 52, (float) bonusLuck);
+        buf.putFloat(at + 56, (float) hit);
+        buf.put(at + 60, (byte) outcome.ordinal());
+        buf.put(at + 61, (byte) source.ordinal());
+        buf.putShort(at + 62, (short) 0);
+    }
+
+    public static long dropped() {
+        return DROPPED.get();
+    }
+
+    // --- writer thread ---
+
+    private static void start(MinecraftServer server) {
+        directory = server.getSavePath(WorldSavePath.ROOT).resolve(DIRECTORY);
+        TAIL.set(HEAD.get()); // nothing from an earlier integrated server session
+        running = true;
+        writer = Thread.ofVirtual().name("duoyun-audit").start(RollAudit::drain);
+    }
+
+    private static void stop() {
+        running = false;
+        Thread thread = writer;
+        writer = null;
+        if (thread == null) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void drain() {
+        FileChannel channel = null;
+        LocalDate day = null;
+        ByteBuffer view = RING.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            Files.createDirectories(directory);
+            while (true) {
+                boolean stopping = !running; // read before HEAD so the last records are not missed
+                long tail = TAIL.get();
+                long head = HEAD.get();
+                if (tail == head) {
+                    if (stopping) break;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                for (long i = tail; i < head; i++) {
+                    int at = (int) (i & (RING_RECORDS - 1)) * RECORD_BYTES;
+                    LocalDate recordDay = dayOf(view.getLong(at));
+                    if (!recordDay.equals(day)) {
+                        if (channel != null) channel.close();
+                        day = recordDay;
+                        channel = FileChannel.open(fileFor(day),
+                                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                    }
+                    view.limit(at + RECORD_BYTES).position(at);
+                    while (view.hasRemaining()) channel.write(view);
+                    view.clear();
+                }
+                TAIL.lazySet(head);
+            }
+        } catch (IOException e) {
+            DuoyunBlocks.LOGGER.error("Duoyun roll audit log stopped", e);
+            running = false;
+        } finally {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static LocalDate dayOf(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static Path fileFor(LocalDate day) {
+        return directory.resolve("rolls-" + day + ".bin");
+    }
+
+    // --- queries ---
+
+    /**
+     * Newest first, up to {@code limit} records matching {@code filter}, looking back at most
+     * {@code days} daily files. Blocking file I/O: call off the server thread.
+     */
+    public static List<Entry> query(Predicate<Entry> filter, int limit, int days) throws IOException {
+        List<Entry> found = new ArrayList<>();
+        Path dir = directory;
+        if (dir == null) return found;
+
+        LocalDate day = dayOf(System.currentTimeMillis());
+        for (int d = 0; d < days && found.size() < limit; d++, day = day.minusDays(1)) {
+            Path file = fileFor(day);
+            if (!Files.exists(file)) continue;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                // a mapped buffer is int-indexed, so walk a busy day's file back in windows
+                long end = channel.size() / RECORD_BYTES;
+                while (end > 0 && found.size() < limit) {
+                    long start = Math.max(0, end - QUERY_WINDOW_RECORDS);
+                    MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY,
+                            start * RECORD_BYTES, (end - start) * RECORD_BYTES);
+                    map.order(ByteOrder.LITTLE_ENDIAN);
+                    for (long r = end - 1; r >= start && found.size() < limit; r--) {
+                        Entry entry = Entry.read(map, (int) ((r - start) * RECORD_BYTES));
+                        if (filter.test(entry)) found.add(entry);
+                    }
+                    end = start;
+                }
+            }
+        }
+        return found;
+    }
+
+    private RollAudit() {}
+}
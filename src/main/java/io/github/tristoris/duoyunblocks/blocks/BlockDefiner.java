@@ -7,6 +7,7 @@ import net.minecraft.block.Blocks;
 import net.minecraft.item.Items;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.RegistryKeys;
+import net.minecraft.sound.BlockSoundGroup;
 import net.minecraft.util.Identifier;
 
 import java.util.function.Function;
@@ -20,6 +21,14 @@ public final class BlockDefiner {
                             0.0),
                     Block.Settings.create());
 
+    public static final Block DUOYUN_OPENER =
+            register("duoyun_opener",
+                    DuoyunOpenerBlock::new,
+                    Block.Settings.create()
+                            .strength(3.5f)
+                            .requiresTool()
+                            .sounds(BlockSoundGroup.STONE));
+
     private static Block register(String path, Function<AbstractBlock.Settings, Block> factory, AbstractBlock.Settings settings) {
         final Identifier identifier = Identifier.of(DuoyunBlocks.MOD_ID, path);
         final RegistryKey<Block> registryKey = RegistryKey.of(RegistryKeys.BLOCK, identifier);
@@ -0,0 +1,258 @@
+package io.github.tristoris.duoyunblocks.blocks;
+
+import io.github.tristoris.duoyunblocks.audit.RollAudit;
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import io.github.tristoris.duoyunblocks.events.BlazeArenaEvent;
+import io.github.tristoris.duoyunblocks.metrics.DuoyunMetrics;
+import io.github.tristoris.duoyunblocks.outcome.EntityOutcomePolicy;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeLoot;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeTables;
+import io.github.tristoris.duoyunblocks.util.Diagnostics;
+import io.github.tristoris.duoyunblocks.util.DuoyunGameRules;
+import io.github.tristoris.duoyunblocks.util.DuoyunRandom;
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Every Duoyun block destroyed during a tick, rolled together at the end of it.
+ *
+ * A lone destruction rolls exactly as a single break always has. When an explosion, a TNT chain or
+ * a fast mining tool destroys several in one tick, each block still rolls (and is audited) on its
+ * own, but the outcomes are applied in aggregate so they cannot stack into an entity storm:
+ *  - nugget sprays are summed into one spray, and every drop into one set of merged stacks,
+ *    both from the middle of the destroyed blocks;
+ *  - at most one Blaze arena and one iron strike per 32x32 area, the rest become their item equivalent;
+ *  - zombified piglins up to the duoyunBatchHostileCap gamerule, the rest become their item equivalent;
+ *  - calamity and big prize are reported once, with their count.
+ * Pistons never get here: a block with a block entity cannot be pushed.
+ */
+public final class DuoyunBatch {
+    private static final int AREA_SHIFT = 5; // 32x32 block areas for arenas and iron strikes
+    private static final int STACKS = OutcomeLoot.NUGGET_SPRAY_STACKS;
+
+    private static final Map<ServerWorld, Pending> WORLDS = new WeakHashMap<>();
+    private static final List<Pending> DIRTY = new ArrayList<>();
+
+    /** One world's destructions of this tick, plus scratch space reused from tick to tick. */
+    private static final class Pending {
+        private ServerWorld world; // only while queued: the map must not hold its own key
+        private final List<DuoyunBlock> blocks = new ArrayList<>();
+        private final List<BlockPos> positions = new ArrayList<>();
+        private final List<PlayerEntity> players = new ArrayList<>();
+        private final DoubleArrayList luck = new DoubleArrayList();
+        private final DoubleArrayList bonus = new DoubleArrayList();
+
+        private final Item[] sprayItems = new Item[STACKS];
+        private final int[] sprayCounts = new int[STACKS];
+        private final Item[] drawItems = new Item[STACKS];
+        private final int[] drawCounts = new int[STACKS];
+        private final LongOpenHashSet arenaAreas = new LongOpenHashSet();
+        private final LongOpenHashSet ironAreas = new LongOpenHashSet();
+        private final List<ItemStack> loot = new ArrayList<>();
+        private final List<ItemStack> merged = new ArrayList<>();
+    }
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(server -> flushAll());
+        // whatever was destroyed in the last tick still counts
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> flushAll());
+    }
+
+    /**
+     * Queues a roll for {@code block}, destroyed at {@code pos}, to be applied at the end of the tick
+     * together with every other Duoyun destruction of the tick.
+     */
+    public static void add(DuoyunBlock block, ServerWorld world, BlockPos pos, @Nullable PlayerEntity player,
+                    double blockLuck, double bonusLuck) {
+        Pending pending = WORLDS.computeIfAbsent(world, w -> new Pending());
+        if (pending.positions.isEmpty()) DIRTY.add(pending);
+        pending.world = world;
+        pending.blocks.add(block);
+        pending.positions.add(pos.toImmutable());
+        pending.players.add(player);
+        pending.luck.add(blockLuck);
+        pending.bonus.add(bonusLuck);
+    }
+
+    private static void flushAll() {
+        for (int i = 0; i < DIRTY.size(); i++) {
+            Pending pending = DIRTY.get(i);
+            try {
+                if (pending.positions.size() == 1) {
+                    pending.blocks.get(0).rollAt(pending.world, pending.positions.get(0), live(pending.players.get(0)),
+                            pending.luck.getDouble(0), pending.bonus.getDouble(0));
+                } else {
+                    rollTogether(pending);
+                }
+            } finally {
+                // a failed roll must not leak its entries or scratch into the next tick
+                pending.world = null;
+                pending.blocks.clear();
+                pending.positions.clear();
+                pending.players.clear();
+                pending.luck.clear();
+                pending.bonus.clear();
+                for (int s = 0; s < STACKS; s++) pending.sprayItems[s] = null;
+                pending.arenaAreas.clear();
+                pending.ironAreas.clear();
+                pending.loot.clear();
+                pending.merged.clear();
+            }
+        }
+        DIRTY.clear();
+    }
+
+    private static void rollTogether(Pending p) {
+        long start = System.nanoTime();
+        ServerWorld world = p.world;
+        int hostilesLeft = world.getGameRules().getInt(DuoyunGameRules.BATCH_HOSTILE_CAP);
+        int n = p.positions.size();
+
+        int entities = 0;
+        int sprays = 0;
+        int sprayStacks = 0;
+        int calamities = 0;
+        int prizes = 0;
+        DuoyunBlock calamityBlock = null;
+        DuoyunBlock prizeBlock = null;
+        double sumX = 0, sumY = 0, sumZ = 0;
+        Random rand = null;
+
+        for (int i = 0; i < n; i++) {
+            long rollStart = System.nanoTime();
+            DuoyunBlock block = p.blocks.get(i);
+            BlockPos pos = p.positions.get(i);
+            PlayerEntity player = live(p.players.get(i));
+            sumX += pos.getX();
+            sumY += pos.getY();
+            sumZ += pos.getZ();
+
+            rand = DuoyunRandom.next(world, DuoyunRandom.Stream.BREAK);
+            DuoyunOutcome outcome = OutcomeTables.roll(world, pos, player == null ? null : player.getUuid(),
+                    RollAudit.Source.BREAK, p.luck.getDouble(i), p.bonus.getDouble(i), rand);
+            switch (outcome) {
+                case NUGGET_SPRAY -> {
+                    OutcomeLoot.nuggetSpray(rand, p.drawItems, p.drawCounts);
+                    sprayStacks = sum(p, sprayStacks);
+                    sprays++;
+                }
+                case DIAMOND -> p.loot.add(OutcomeLoot.diamonds(rand));
+                case BLAZE_ARENA -> {
+                    BlockPos center = player != null ? player.getBlockPos() : pos;
+                    if (p.arenaAreas.add(area(center))) {
+                        if (player != null) BlazeArenaEvent.spawnArena(world, player);
+                        else BlazeArenaEvent.spawnArena(world, pos);
+                    } else {
+                        OutcomeLoot.collect(outcome, rand, EntityOutcomePolicy.ITEM_EQUIVALENT, p.loot);
+                    }
+                }
+                case FALLING_IRON -> {
+                    if (p.ironAreas.add(area(pos))) entities += block.spawnFallingIronBlock(world, pos);
+                    else OutcomeLoot.collect(outcome, rand, EntityOutcomePolicy.ITEM_EQUIVALENT, p.loot);
+                }
+                case ZOMBIE_PIGLINS -> {
+                    if (hostilesLeft > 0) {
+                        int spawned = block.spawnZombiePiglins(world, pos, rand, hostilesLeft);
+                        hostilesLeft -= spawned;
+                        entities += spawned;
+                    } else {
+                        OutcomeLoot.collect(outcome, rand, EntityOutcomePolicy.ITEM_EQUIVALENT, p.loot);
+                    }
+                }
+                case BAD_LUCK -> {
+                    if (player != null) block.applyBadLuck(player);
+                }
+                case CALAMITY -> {
+                    calamities++;
+                    calamityBlock = block;
+                }
+                case BIG_PRIZE -> {
+                    prizes++;
+                    prizeBlock = block;
+                }
+            }
+            DuoyunMetrics.recordRoll(rollStart, outcome, 0); // the batch counts what it spawns below
+        }
+
+        double x = sumX / n + 0.5;
+        double y = sumY / n + 0.5;
+        double z = sumZ / n + 0.5;
+        if (sprays > 0) {
+            entities += DuoyunSpray.payload(world, p.sprayItems, p.sprayCounts, sprayStacks, x, y, z, rand);
+        }
+        entities += dropLoot(p, x, y, z);
+
+        if (calamityBlock != null) calamityBlock.rollCalamity(world);
+        if (prizeBlock != null) prizeBlock.rollOneHundredEvent(world);
+        if (calamities + prizes > 1) {
+            Diagnostics.emit(world, Diagnostics.Level.INFO, "break",
+                    n + " blocks in one tick: " + calamities + " calamities, " + prizes + " big prizes");
+        }
+
+        DuoyunMetrics.record(DuoyunMetrics.Stage.BREAK_BATCH, start, entities, 0);
+    }
+
+    /** Adds the last drawn nugget spray to the summed one, per item; returns the stacks now in use. */
+    private static int sum(Pending p, int stacks) {
+        for (int d = 0; d < STACKS; d++) {
+            Item item = p.drawItems[d];
+            int s = 0;
+            while (s < stacks && p.sprayItems[s] != item) s++;
+            if (s == stacks) {
+                p.sprayItems[s] = item;
+                p.sprayCounts[s] = 0;
+                stacks++;
+            }
+            p.sprayCounts[s] += p.drawCounts[d];
+        }
+        return stacks;
+    }
+
+    /** Drops the collected loot as merged stacks; returns the item entities spawned. */
+    private static int dropLoot(Pending p, double x, double y, double z) {
+        for (ItemStack stack : p.loot) {
+            for (ItemStack existing : p.merged) {
+                if (!ItemStack.areItemsAndComponentsEqual(existing, stack)) continue;
+                int move = Math.min(stack.getCount(), existing.getMaxCount() - existing.getCount());
+                existing.increment(move);
+                stack.decrement(move);
+                if (stack.isEmpty()) break;
+            }
+            if (!stack.isEmpty()) p.merged.add(stack);
+        }
+
+        for (ItemStack stack : p.merged) {
+            ItemEntity entity = new ItemEntity(p.world, x, y, z, stack);
+            entity.setToDefaultPickupDelay();
+            p.world.spawnEntity(entity);
+        }
+        return p.merged.size();
+    }
+
+    /** The 32x32 area {@code pos} lies in, as the key that caps arenas and iron strikes. */
+    public static long area(BlockPos pos) {
+        return (long) (pos.getX() >> AREA_SHIFT) << 32 | (pos.getZ() >> AREA_SHIFT) & 0xFFFFFFFFL;
+    }
+
+    /** The player a destruction was credited to, unless they left or died before the tick ended. */
+    private static @Nullable PlayerEntity live(@Nullable PlayerEntity player) {
+        return player == null || player.isRemoved() ? null : player;
+    }
+
+    private DuoyunBatch() {}
+}
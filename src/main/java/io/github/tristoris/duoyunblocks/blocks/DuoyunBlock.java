@@ -3,12 +3,19 @@ package io.github.tristoris.duoyunblocks.blocks;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.github.tristoris.duoyunblocks.audit.RollAudit;
 import io.github.tristoris.duoyunblocks.events.BlazeArenaEvent;
-import io.github.tristoris.duoyunblocks.components.ModDataComponents;
+import io.github.tristoris.duoyunblocks.components.DuoyunStats;
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import io.github.tristoris.duoyunblocks.core.LuckMath;
 import io.github.tristoris.duoyunblocks.entities.EntityDefiner;
 import io.github.tristoris.duoyunblocks.entities.DuoyunBlockEntity;
 import io.github.tristoris.duoyunblocks.items.DuoyunBlockItem;
-import io.github.tristoris.duoyunblocks.util.BasicUtils;
+import io.github.tristoris.duoyunblocks.metrics.DuoyunMetrics;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeLoot;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeTables;
+import io.github.tristoris.duoyunblocks.util.Diagnostics;
+import io.github.tristoris.duoyunblocks.util.DuoyunRandom;
 import io.github.tristoris.duoyunblocks.util.TickTasks;
 import io.github.tristoris.duoyunblocks.util.TimeUtils;
 import net.minecraft.block.Block;
@@ -16,8 +23,8 @@ import net.minecraft.block.BlockState;
 import net.minecraft.block.BlockWithEntity;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.component.type.ItemEnchantmentsComponent;
 import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.enchantment.Enchantments;
 import net.minecraft.entity.*;
 import net.minecraft.entity.effect.StatusEffectInstance;
@@ -25,27 +32,31 @@ import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.entity.mob.ZombifiedPiglinEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.Items;
+import net.minecraft.registry.RegistryKeys;
 import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.state.StateManager;
 import net.minecraft.state.property.BooleanProperty;
+import net.minecraft.state.property.IntProperty;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
 import net.minecraft.world.Heightmap;
 import net.minecraft.world.World;
+import net.minecraft.world.explosion.Explosion;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 
 public class DuoyunBlock extends BlockWithEntity {
 
     public static final BooleanProperty LIT = BooleanProperty.of("lit");
+    // luck = step * LUCK_PER_STEP - 100; only authoritative while luck lives in the block state (see LuckStorage)
+    public static final IntProperty LUCK_STEP = IntProperty.of("luck_step", 0, 40);
+    public static final int LUCK_PER_STEP = 5;
     private static final int LUMINANCE_ON  = 7; // full torch-like
     private static final int LUMINANCE_OFF = 0;
-    private static final int GLOW_START = 13000;  // start glowing at 13000 (dusk)
-    private static final int GLOW_END   = 23000;  // stop at 23000 (just before dawn)
-    private static final int CHECK_PERIOD_TICKS = 200; // re-evaluate every 10s
 
     public static final MapCodec<DuoyunBlock> CODEC = RecordCodecBuilder.mapCodec(instance ->
             instance.group(
@@ -61,16 +72,31 @@ public class DuoyunBlock extends BlockWithEntity {
         super(settings.luminance(state -> state.contains(LIT) && state.get(LIT) ? LUMINANCE_ON : LUMINANCE_OFF));
         this.luck = luck;
         // default off
-        this.setDefaultState(this.getStateManager().getDefaultState().with(LIT, false));
+        this.setDefaultState(this.getStateManager().getDefaultState().with(LIT, false).with(LUCK_STEP, luckStep(luck)));
     }
 
     // === NEW: add LIT to blockstate ===
     @Override
     protected void appendProperties(StateManager.Builder<Block, BlockState> builder) {
-        builder.add(LIT);
+        builder.add(LIT, LUCK_STEP);
     }
 
-    // === NEW: schedule periodic checks on place ===
+    /** Nearest luck step for a luck value; luck is clamped to [-100, 100]. */
+    public static int luckStep(double luck) {
+        return (int) Math.round((Math.max(-100, Math.min(100, luck)) + 100) / LUCK_PER_STEP);
+    }
+
+    public static double luckOf(BlockState state) {
+        return state.get(LUCK_STEP) * LUCK_PER_STEP - 100;
+    }
+
+    /** The luck of the block at {@code pos}: its block entity's if it has one, otherwise its state's. */
+    private static double luckAt(World world, BlockPos pos, BlockState state) {
+        BlockEntity be = world.getBlockEntity(pos);
+        return be instanceof DuoyunBlockEntity duoyunBe ? duoyunBe.getLuck() : luckOf(state);
+    }
+
+    // === initial LIT on place; DuoyunGlowManager keeps it in step afterwards ===
     @Override
     public void onPlaced(World world, BlockPos pos, BlockState state, @Nullable LivingEntity placer, ItemStack stack) {
         super.onPlaced(world, pos, state, placer, stack);
@@ -80,20 +106,18 @@ public class DuoyunBlock extends BlockWithEntity {
             if (state.get(LIT) != shouldGlow) {
                 world.setBlockState(pos, state.with(LIT, shouldGlow), Block.NOTIFY_ALL);
             }
-            // schedule next checks
-            world.scheduleBlockTick(pos, this, CHECK_PERIOD_TICKS);
         }
 
         // === your existing luck transfer logic ===
         if (world.isClient()) return;
 
-        BlockEntity be = world.getBlockEntity(pos);
-        if (be instanceof DuoyunBlockEntity duoyunBe) {
-            Integer luckFromItem = stack.get(ModDataComponents.LUCK);
+        BlockEntity be = LuckStorage.inBlockState() ? null : world.getBlockEntity(pos);
+        if (be instanceof DuoyunBlockEntity || be == null) {
+            DuoyunStats statsFromItem = DuoyunBlockItem.getStats(stack);
 
             double baseLuck;
-            if (luckFromItem != null) {
-                baseLuck = luckFromItem;
+            if (statsFromItem != null) {
+                baseLuck = statsFromItem.luck();
             } else if (stack.getItem() instanceof DuoyunBlockItem lbi) {
                 baseLuck = lbi.getDefaultLuck();
             } else {
@@ -101,22 +125,20 @@ public class DuoyunBlock extends BlockWithEntity {
             }
 
             double finalLuck = Math.max(-100, Math.min(100, baseLuck));
-            duoyunBe.setLuck(finalLuck);
-        }
-    }
-
-    // === NEW: re-evaluate LIT on a timer ===
-    @Override
-    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, net.minecraft.util.math.random.Random random) {
-        boolean shouldGlow = shouldGlow(world);
-        if (state.get(LIT) != shouldGlow) {
-            world.setBlockState(pos, state.with(LIT, shouldGlow), Block.NOTIFY_ALL);
+            if (be instanceof DuoyunBlockEntity duoyunBe) {
+                duoyunBe.setLuck(finalLuck);
+            } else {
+                // no block entity in this mode, so the glow manager has to be told about the block itself
+                BlockState placed = world.getBlockState(pos);
+                if (placed.isOf(this)) {
+                    world.setBlockState(pos, placed.with(LUCK_STEP, luckStep(finalLuck)), Block.NOTIFY_LISTENERS);
+                }
+                DuoyunGlowManager.track((ServerWorld) world, pos);
+            }
         }
-        world.scheduleBlockTick(pos, this, CHECK_PERIOD_TICKS);
     }
 
-    // === NEW: time window logic (supports wrap-around if GLOW_END < GLOW_START) ===
-    private boolean shouldGlow(World world) {
+    static boolean shouldGlow(World world) {
         return world.isNight();
     }
 
@@ -129,53 +151,27 @@ public class DuoyunBlock extends BlockWithEntity {
             }
 
             ItemStack tool = player.getMainHandStack();
-            ItemEnchantmentsComponent enchantments = tool.getEnchantments();
-            Set<RegistryEntry<Enchantment>> entries = enchantments.getEnchantments();
-
-            for (RegistryEntry<Enchantment> entry : entries) {
-                if (entry.getKey().equals(Optional.of(Enchantments.SILK_TOUCH))) {
-                    dropDuoyunBlock(world, pos);
-                    return state;
+            if (Diagnostics.wants(Diagnostics.Level.DEBUG)) {
+                for (RegistryEntry<Enchantment> entry : tool.getEnchantments().getEnchantments()) {
+                    Diagnostics.emit(world, Diagnostics.Level.DEBUG, "break", entry.toString());
                 }
-                BasicUtils.broadcastMessage(world, entry.toString());
             }
 
-            // --- use the placed block's own luck from its BlockEntity ---
-            double beLuck = this.luck; // fallback to the block's default if BE missing
-            BlockEntity be = world.getBlockEntity(pos);
-            if (be instanceof DuoyunBlockEntity duoyunBe) {
-                beLuck = duoyunBe.getLuck();
+            // a direct level lookup: no entry set, iterator or Optional per break
+            RegistryEntry<Enchantment> silkTouch = world.getRegistryManager()
+                    .getOrThrow(RegistryKeys.ENCHANTMENT).getOrThrow(Enchantments.SILK_TOUCH);
+            if (EnchantmentHelper.getLevel(silkTouch, tool) > 0) {
+                dropDuoyunBlock(world, pos);
+                return state;
             }
 
-            double playerLuck = player.getLuck();
-            double bonusLuck = luckConverter(playerLuck) * 100.0;
-
-            // final luck used for event roll
-            double finalLuck = (beLuck + bonusLuck) / 2.5;
-
-            Vec3d center = Vec3d.ofCenter(pos);
-            Random rand = new Random();
-
-            // generates a number between -100 and 100 shifted by finalLuck
-            double hit = Math.min(Math.max((Math.random() - 0.5) * 140 + finalLuck, -100), 100);
-            //BasicUtils.broadcastMessage(world, "calculating chances, hit is : " + hit);
-
-            // duoyun block events:
-            TreeMap<Integer, Runnable> events = new TreeMap<>();
-            events.put(-100, () -> rollCalamity(world));
-            events.put(-60, () -> BlazeArenaEvent.spawnArena((ServerWorld) world, player));
-            events.put(-20, () -> spawnZombiePiglins(world, pos, rand));
-            //events.put(0,   () -> applyBadLuck(player));
-            events.put(10,  () -> sprayNuggets(world, center, rand));
-            events.put(30,  () -> spawnFallingIronBlock(world, pos));
-            events.put(50,  () -> dropDiamond(world, center, rand));
+            // --- use the placed block's own luck, from its BlockEntity or its state ---
+            double beLuck = luckAt(world, pos, state);
 
-            Runnable action = Optional
-                    .ofNullable(events.floorEntry((int) hit))
-                    .map(Map.Entry::getValue)
-                    .orElse(() -> rollOneHundredEvent(world));
+            double playerLuck = player.getLuck();
+            double bonusLuck = LuckMath.playerBonus(playerLuck);
 
-            action.run();
+            DuoyunBatch.add(this, (ServerWorld) world, pos, player, beLuck, bonusLuck);
 
             //BasicUtils.broadcastMessage(world, "broke block, block luck was : " + beLuck);
         }
@@ -183,18 +179,59 @@ public class DuoyunBlock extends BlockWithEntity {
         return state;
     }
 
+    /**
+     * Explosions roll like a break with the block's own luck. A survival player who caused the
+     * explosion (e.g. lit the TNT) gets their luck bonus and the arena; otherwise nobody is credited.
+     * Nothing else drops: there is no loot table, the roll is the block's worth.
+     */
+    @Override
+    protected void onExploded(BlockState state, ServerWorld world, BlockPos pos, Explosion explosion,
+                              BiConsumer<ItemStack, BlockPos> stackMerger) {
+        if (!state.isAir() && explosion.getDestructionType() != Explosion.DestructionType.TRIGGER_BLOCK) {
+            // read before super clears the block and its entity
+            PlayerEntity player = explosion.getCausingEntity() instanceof PlayerEntity causing
+                    && !isInvalidBreakingOccasion(causing) ? causing : null;
+            double bonusLuck = player == null ? 0.0 : LuckMath.playerBonus(player.getLuck());
+            DuoyunBatch.add(this, world, pos, player, luckAt(world, pos, state), bonusLuck);
+        }
+        super.onExploded(state, world, pos, explosion, stackMerger);
+    }
+
+    /**
+     * Rolls and applies one outcome for a Duoyun block at {@code pos}, as if {@code player} broke it.
+     * Without a player (stress runs) the arena centres on the block and bad luck has no one to hit.
+     */
+    public void rollAt(ServerWorld world, BlockPos pos, @Nullable PlayerEntity player, double blockLuck, double bonusLuck) {
+        long start = System.nanoTime();
+        Random rand = DuoyunRandom.next(world, DuoyunRandom.Stream.BREAK);
+
+        // duoyun block events, as configured by the duoyun/outcomes.json datapack file
+        UUID playerId = player == null ? null : player.getUuid();
+        DuoyunOutcome outcome = OutcomeTables.roll(world, pos, playerId, RollAudit.Source.BREAK, blockLuck, bonusLuck, rand);
+        int spawned = switch (outcome) {
+            case CALAMITY -> rollCalamity(world);
+            case BLAZE_ARENA -> {
+                if (player != null) BlazeArenaEvent.spawnArena(world, player);
+                else BlazeArenaEvent.spawnArena(world, pos);
+                yield 0; // its entities are counted when the finished arena releases them
+            }
+            case ZOMBIE_PIGLINS -> spawnZombiePiglins(world, pos, rand, Integer.MAX_VALUE);
+            case BAD_LUCK -> player == null ? 0 : applyBadLuck(player);
+            case NUGGET_SPRAY -> DuoyunSpray.nuggets(world, pos.getX(), pos.getY(), pos.getZ(), rand);
+            case FALLING_IRON -> spawnFallingIronBlock(world, pos);
+            case DIAMOND -> dropDiamond(world, pos, rand);
+            case BIG_PRIZE -> rollOneHundredEvent(world);
+        };
+        DuoyunMetrics.recordRoll(start, outcome, spawned);
+    }
+
     private void dropDuoyunBlock(World world, BlockPos pos) {
         if (world.isClient()) return;
 
-        BlockEntity be = world.getBlockEntity(pos);
-        double beLuck = this.luck; // fallback if BE missing
-
-        if (be instanceof DuoyunBlockEntity duoyunBe) {
-            beLuck = duoyunBe.getLuck();
-        }
+        double beLuck = luckAt(world, pos, world.getBlockState(pos));
 
         ItemStack drop = new ItemStack(this.asItem());
-        DuoyunBlockItem.setLuck(drop, (int) Math.round(beLuck));
+        DuoyunBlockItem.setStats(drop, DuoyunStats.ofLuck((int) Math.round(beLuck)));
 
         Block.dropStack(world, pos, drop);
     }
@@ -204,19 +241,21 @@ public class DuoyunBlock extends BlockWithEntity {
         return player == null || player.isInCreativeMode() || player.isSpectator();
     }
 
-    private void rollCalamity(World world) {
-        BasicUtils.broadcastMessage(world, "calamity rolled");
-        if (!(world instanceof ServerWorld server)) return;
+    int rollCalamity(World world) {
+        Diagnostics.emit(world, Diagnostics.Level.INFO, "break", "calamity rolled");
+        return 0;
     }
 
-    private void spawnZombiePiglins(World world, BlockPos pos, Random rand) {
-        final int count = 8 + rand.nextInt(6); // 8..13
+    /** Spawns 8..13 zombified piglins around {@code pos}, at most {@code max}; returns how many. */
+    int spawnZombiePiglins(World world, BlockPos pos, Random rand, int max) {
+        final int count = Math.min(max, 8 + rand.nextInt(6)); // 8..13
         final double R = 4.0;                  // radius in blocks
         final double y = pos.getY() + 2.0;     // 2 blocks above so they fall
 
         final double cx = pos.getX() + 0.5;
         final double cz = pos.getZ() + 0.5;
 
+        int spawned = 0;
         for (int i = 0; i < count; i++) {
             double u = rand.nextDouble();
             double r = R * Math.sqrt(u);
@@ -237,11 +276,13 @@ public class DuoyunBlock extends BlockWithEntity {
                         0.0F
                 );
                 world.spawnEntity(piglin);
+                spawned++;
             }
         }
+        return spawned;
     }
 
-    private void applyBadLuck(PlayerEntity player) {
+    int applyBadLuck(PlayerEntity player) {
         player.addStatusEffect(new StatusEffectInstance(
                 StatusEffects.UNLUCK,
                 TimeUtils.minutesToTicks(10),
@@ -253,107 +294,10 @@ public class DuoyunBlock extends BlockWithEntity {
                 TimeUtils.minutesToTicks(1),
                 0
         ));
+        return 0;
     }
 
-    private void sprayNuggets(World world, Vec3d pos, Random rand) {
-        int[] ironAmount = new int[]{17, 35};
-        int[] goldAmount = new int[]{13, 27};
-        int[] copperAmount = new int[]{19, 41};
-        int ironNuggets   = (int) 2.3 * rand.nextInt(ironAmount[1] - ironAmount[0] + 1) + ironAmount[0];
-        int goldNuggets   = (int) 2.6 * rand.nextInt(goldAmount[1] - goldAmount[0]  + 1) + goldAmount[0];
-        int copperNuggets = (int) 2.8 * rand.nextInt(copperAmount[1] - copperAmount[0] + 1) + copperAmount[0];
-        int ironIngots   = rand.nextInt(ironAmount[1] - ironAmount[0] + 1) + ironAmount[0];
-        int goldIngots   = rand.nextInt(goldAmount[1] - goldAmount[0]  + 1) + goldAmount[0];
-        int copperIngots = rand.nextInt(copperAmount[1] - copperAmount[0] + 1) + copperAmount[0];
-
-        List<ItemStack> drops = new ArrayList<>(List.of(
-                new ItemStack(Items.IRON_NUGGET, ironNuggets),
-                new ItemStack(Items.GOLD_NUGGET, goldNuggets),
-                new ItemStack(Items.COPPER_NUGGET, copperNuggets)
-        ));
-
-        List<ItemStack> ingots = new ArrayList<>(List.of(
-                new ItemStack(Items.IRON_INGOT, ironIngots),
-                new ItemStack(Items.GOLD_INGOT, goldIngots),
-                new ItemStack(Items.COPPER_INGOT, copperIngots)
-        ));
-
-        Collections.shuffle(drops, rand);
-        Collections.shuffle(ingots, rand);
-        drops.addAll(ingots);
-        sprayItems(world, pos, drops, rand);
-    }
-
-    /**
-     * Sprays items in timed bursts: 8–10 single nuggets at once, every 0.4s.
-     * Vertical velocity is doubled; horizontal speed halved to keep the same range.
-     */
-    private void sprayItems(World world, Vec3d origin, List<ItemStack> stacks, Random rand) {
-        if (!(world instanceof ServerWorld server)) return;
-
-        final double baseMinSpeed  = 0.225;
-        final double baseMaxSpeed  = 0.375;
-        final double upMin         = 0.14;
-        final double upMax         = 0.28;
-        final double desiredRadius = 5.0;
-        final double spreadScale   = Math.max(1.0, desiredRadius / 3.0);
-        final double minSpeed      = baseMinSpeed * spreadScale;
-        final double maxSpeed      = baseMaxSpeed * spreadScale;
-
-        final double jitter = 0.01;
-
-        final int burstMin     = 11;
-        final int burstMax     = 14;
-        final int burstPeriod  = 8;
-        final double vyBoost   = 2.0;
-        final double vxFactor  = 0.5;
-
-        List<ItemStack> singles = new ArrayList<>();
-        for (ItemStack stack : stacks) {
-            int c = stack.getCount();
-            for (int i = 0; i < c; i++) singles.add(stack.copyWithCount(1));
-        }
-        Collections.shuffle(singles, rand);
-
-        int cursor = 0;
-        int burstIndex = 0;
-
-        while (cursor < singles.size()) {
-            int remaining = singles.size() - cursor;
-            int sizeThisBurst = Math.min(remaining, burstMin + rand.nextInt(burstMax - burstMin + 1));
-            int delay = burstIndex * burstPeriod;
-
-            List<ItemStack> burst = new ArrayList<>(singles.subList(cursor, cursor + sizeThisBurst));
-            cursor += sizeThisBurst;
-            burstIndex++;
-
-            TickTasks.in(server, delay, () -> {
-                for (ItemStack single : burst) {
-                    double phi   = server.random.nextDouble() * Math.PI * 2.0;
-
-                    double base = minSpeed + server.random.nextDouble() * (maxSpeed - minSpeed);
-                    double hspd = base * vxFactor;
-
-                    double vy = (upMin + server.random.nextDouble() * (upMax - upMin)) * vyBoost;
-
-                    double sx = origin.x + (server.random.nextDouble() * 2 - 1) * jitter;
-                    double sy = origin.y + 1.1;
-                    double sz = origin.z + (server.random.nextDouble() * 2 - 1) * jitter;
-
-                    ItemEntity entity = new ItemEntity(server, sx, sy, sz, single.copy());
-
-                    double vx = Math.cos(phi) * hspd;
-                    double vz = Math.sin(phi) * hspd;
-
-                    entity.setVelocity(vx, vy, vz);
-                    entity.setToDefaultPickupDelay();
-                    server.spawnEntity(entity);
-                }
-            });
-        }
-    }
-
-    private void spawnFallingIronBlock(World world, BlockPos targetPos) {
+    int spawnFallingIronBlock(World world, BlockPos targetPos) {
         int spawnY = world.getHeight() - 1;
 
         BlockState iron = Blocks.IRON_BLOCK.getDefaultState();
@@ -368,7 +312,8 @@ public class DuoyunBlock extends BlockWithEntity {
         falling.setVelocity(0.0, -speed, 0.0);
         falling.setHurtEntities(2.0F, 40);
 
-        TickTasks.in((ServerWorld) world, 95, () -> {
+        // the strike is cosmetic: if the column unloaded in the meantime, skip it
+        TickTasks.in((ServerWorld) world, new ChunkPos(targetPos), TickTasks.ChunkPolicy.DROP, 95, () -> {
             int topY = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES,
                     targetPos.getX(), targetPos.getZ());
             double x = targetPos.getX() + 0.5;
@@ -385,24 +330,24 @@ public class DuoyunBlock extends BlockWithEntity {
                 world.setBlockState(firePos, Blocks.FIRE.getDefaultState(), 11);
             }
         });
+        return 1;
     }
 
-    private void dropDiamond(World world, Vec3d pos, Random rand) {
-        int amountDiamonds = rand.nextInt(3 - 1 + 1) + 1;
-        ItemStack stack = new ItemStack(Items.DIAMOND, amountDiamonds);
+    private int dropDiamond(World world, BlockPos pos, Random rand) {
+        ItemStack stack = OutcomeLoot.diamonds(rand);
 
-        ItemEntity itemEntity = new ItemEntity(world, pos.x, pos.y, pos.z, stack);
+        ItemEntity itemEntity = new ItemEntity(world, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, stack);
         world.spawnEntity(itemEntity);
+        return 1;
     }
 
     public static double luckConverter(double x) {
-        double x3 = x * x * x;
-        double x5 = x3 * x * x;
-        return 0.45 * Math.tanh(0.565 * x - 0.101 * x3 + 0.0151 * x5);
+        return LuckMath.luckConverter(x);
     }
 
-    private void rollOneHundredEvent(World world) {
-        BasicUtils.broadcastMessage(world, "big prize rolled");
+    int rollOneHundredEvent(World world) {
+        Diagnostics.emit(world, Diagnostics.Level.INFO, "break", "big prize rolled");
+        return 0;
     }
 
     @Override
@@ -412,6 +357,8 @@ public class DuoyunBlock extends BlockWithEntity {
 
     @Override
     public @Nullable BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
-        return new DuoyunBlockEntity(EntityDefiner.DUOYUN_BLOCK_ENTITY, pos, state, this.luck);
+        // the state's luck step is the block's default, or what it was given while luck lived in the state
+        return LuckStorage.inBlockState() ? null
+                : new DuoyunBlockEntity(EntityDefiner.DUOYUN_BLOCK_ENTITY, pos, state, luckOf(state));
     }
 }
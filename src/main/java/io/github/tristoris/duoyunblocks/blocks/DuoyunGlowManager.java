@@ -0,0 +1,157 @@
+package io.github.tristoris.duoyunblocks.blocks;
+
+import io.github.tristoris.duoyunblocks.entities.DuoyunBlockEntity;
+import io.github.tristoris.duoyunblocks.metrics.DuoyunMetrics;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the LIT property of every loaded Duoyun block in step with the day/night cycle.
+ *
+ * Blocks are tracked while their block entity is loaded or, when luck lives in the block state
+ * and there are no block entities, found by scanning chunks as they load (only sections whose
+ * palette holds a Duoyun block are walked). Either way they are dropped with their chunk.
+ * Nothing happens per block until
+ * the world crosses dusk or dawn; the flips are then drained a few per tick so the lighting
+ * engine does not get every block of the server at once.
+ */
+public final class DuoyunGlowManager {
+    private static final int FLIPS_PER_TICK = 32;  // state changes (= light updates) per world tick
+    private static final int SCANS_PER_TICK = 256; // queue entries looked at per world tick
+
+    private static final Map<ServerWorld, WorldGlow> WORLDS = new WeakHashMap<>();
+
+    private static final class WorldGlow {
+        private final LongOpenHashSet tracked = new LongOpenHashSet();
+        private final Long2ObjectOpenHashMap<LongArrayList> byChunk = new Long2ObjectOpenHashMap<>();
+        private final LongArrayFIFOQueue pending = new LongArrayFIFOQueue();
+        private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+        private boolean night;
+        private boolean initialized;
+    }
+
+    public static void init() {
+        ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((blockEntity, world) -> {
+            if (blockEntity instanceof DuoyunBlockEntity) track(world, blockEntity.getPos());
+        });
+        ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((blockEntity, world) -> {
+            if (blockEntity instanceof DuoyunBlockEntity) untrack(world, blockEntity.getPos());
+        });
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            if (LuckStorage.inBlockState()) scan(world, chunk);
+        });
+        ServerChunkEvents.CHUNK_UNLOAD.register(DuoyunGlowManager::untrackChunk);
+        ServerTickEvents.END_WORLD_TICK.register(DuoyunGlowManager::onWorldTick);
+    }
+
+    static void track(ServerWorld world, BlockPos pos) {
+        WorldGlow glow = WORLDS.computeIfAbsent(world, w -> new WorldGlow());
+        long key = pos.asLong();
+        // evaluate once on load so blocks saved in the wrong phase catch up
+        if (glow.tracked.add(key)) {
+            glow.pending.enqueue(key);
+            glow.byChunk.computeIfAbsent(ChunkPos.toLong(pos), k -> new LongArrayList(4)).add(key);
+        }
+    }
+
+    static void untrack(ServerWorld world, BlockPos pos) {
+        WorldGlow glow = WORLDS.get(world);
+        if (glow == null) return;
+        long key = pos.asLong();
+        if (!glow.tracked.remove(key)) return;
+        long chunk = ChunkPos.toLong(pos);
+        LongArrayList inChunk = glow.byChunk.get(chunk);
+        if (inChunk != null && inChunk.rem(key) && inChunk.isEmpty()) glow.byChunk.remove(chunk);
+    }
+
+    private static void untrackChunk(ServerWorld world, WorldChunk chunk) {
+        WorldGlow glow = WORLDS.get(world);
+        if (glow == null) return;
+        LongArrayList inChunk = glow.byChunk.remove(chunk.getPos().toLong());
+        if (inChunk == null) return;
+        for (int i = 0; i < inChunk.size(); i++) glow.tracked.remove(inChunk.getLong(i));
+    }
+
+    private static void scan(ServerWorld world, WorldChunk chunk) {
+        ChunkSection[] sections = chunk.getSectionArray();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        int startX = chunk.getPos().getStartX();
+        int startZ = chunk.getPos().getStartZ();
+        for (int i = 0; i < sections.length; i++) {
+            ChunkSection section = sections[i];
+            if (section.isEmpty() || !section.hasAny(state -> state.getBlock() instanceof DuoyunBlock)) continue;
+
+            int startY = ChunkSectionPos.getBlockCoord(chunk.sectionIndexToCoord(i));
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (section.getBlockState(x, y, z).getBlock() instanceof DuoyunBlock) {
+                            track(world, pos.set(startX + x, startY + y, startZ + z));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void onWorldTick(ServerWorld world) {
+        WorldGlow glow = WORLDS.get(world);
+        if (glow == null) return;
+
+        boolean night = DuoyunBlock.shouldGlow(world);
+        if (!glow.initialized) {
+            glow.initialized = true;
+            glow.night = night;
+        } else if (night != glow.night) {
+            // dusk or dawn: queue every loaded block once
+            glow.night = night;
+            var it = glow.tracked.iterator();
+            while (it.hasNext()) glow.pending.enqueue(it.nextLong());
+        }
+
+        if (glow.pending.isEmpty()) return;
+
+        long start = System.nanoTime();
+        int flips = FLIPS_PER_TICK;
+        int scans = SCANS_PER_TICK;
+        while (flips > 0 && scans-- > 0 && !glow.pending.isEmpty()) {
+            long key = glow.pending.dequeueLong();
+            if (!glow.tracked.contains(key)) continue; // unloaded or removed since queued
+
+            BlockPos pos = glow.cursor.set(key);
+            if (!world.isChunkLoaded(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ()))) {
+                continue;
+            }
+
+            BlockState state = world.getBlockState(pos);
+            if (!(state.getBlock() instanceof DuoyunBlock)) {
+                untrack(world, pos);
+                continue;
+            }
+            if (state.get(DuoyunBlock.LIT) != night) {
+                // LIT only changes luminance, neighbours don't need to hear about it
+                world.setBlockState(pos, state.with(DuoyunBlock.LIT, night), Block.NOTIFY_LISTENERS);
+                flips--;
+            }
+        }
+        DuoyunMetrics.record(DuoyunMetrics.Stage.GLOW_FLIPS, start, 0, FLIPS_PER_TICK - flips);
+    }
+
+    private DuoyunGlowManager() {}
+}
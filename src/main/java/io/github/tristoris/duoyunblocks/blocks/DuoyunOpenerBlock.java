@@ -0,0 +1,39 @@
+package io.github.tristoris.duoyunblocks.blocks;
+
+import com.mojang.serialization.MapCodec;
+import io.github.tristoris.duoyunblocks.entities.DuoyunOpenerBlockEntity;
+import io.github.tristoris.duoyunblocks.entities.EntityDefiner;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.BlockWithEntity;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityTicker;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Opens Duoyun blocks fed in by hoppers, straight into its own inventory. See {@link DuoyunOpenerBlockEntity}.
+ */
+public class DuoyunOpenerBlock extends BlockWithEntity {
+    public static final MapCodec<DuoyunOpenerBlock> CODEC = createCodec(DuoyunOpenerBlock::new);
+
+    public DuoyunOpenerBlock(Settings settings) {
+        super(settings);
+    }
+
+    @Override
+    protected MapCodec<? extends BlockWithEntity> getCodec() {
+        return CODEC;
+    }
+
+    @Override
+    public @Nullable BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+        return new DuoyunOpenerBlockEntity(pos, state);
+    }
+
+    @Override
+    public <T extends BlockEntity> @Nullable BlockEntityTicker<T> getTicker(World world, BlockState state, BlockEntityType<T> type) {
+        return world.isClient() ? null : validateTicker(type, EntityDefiner.DUOYUN_OPENER_ENTITY, DuoyunOpenerBlockEntity::tick);
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.tristoris.duoyunblocks.blocks;
+
+import io.github.tristoris.duoyunblocks.core.SprayPlan;
+import io.github.tristoris.duoyunblocks.metrics.DuoyunMetrics;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeLoot;
+import io.github.tristoris.duoyunblocks.util.DuoyunGameRules;
+import io.github.tristoris.duoyunblocks.util.DuoyunRandom;
+import io.github.tristoris.duoyunblocks.util.TickTasks;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.random.Random;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The item spray of a Duoyun block: timed bursts of 11–14 pieces, every 0.4s.
+ * Vertical velocity is doubled; horizontal speed halved to keep the same range.
+ * Payloads larger than the duoyunSprayEntityCap gamerule are packed into that many merged
+ * stacks instead of singles; whatever still doesn't fit lands as plain pickup stacks.
+ *
+ * Planning ({@link #plan}) needs no world and works on primitive arrays in per-world scratch space;
+ * bursts come from a per-world pool, so the only things a spray allocates are the item entities
+ * themselves (and one wheel task per burst).
+ */
+final class DuoyunSpray {
+    private static final double MIN_SPEED = 0.225 * Math.max(1.0, 5.0 / 3.0); // spread out to a ~5 block radius
+    private static final double MAX_SPEED = 0.375 * Math.max(1.0, 5.0 / 3.0);
+    private static final double UP_MIN = 0.14;
+    private static final double UP_MAX = 0.28;
+    private static final double JITTER = 0.01;
+    private static final double VY_BOOST = 2.0;
+    private static final double VX_FACTOR = 0.5;
+
+    private static final int BURST_MIN = 11;
+    private static final int BURST_MAX = 14;
+    private static final int BURST_PERIOD = 8;
+
+    private static final int MAX_STACKS = OutcomeLoot.NUGGET_SPRAY_STACKS;
+
+    private static final Map<ServerWorld, Scratch> WORLDS = new WeakHashMap<>();
+
+    /** Reused by every spray of a world; only valid until the spray that filled it returns. */
+    static final class Scratch {
+        private final Item[] items = new Item[MAX_STACKS];
+        private final int[] counts = new int[MAX_STACKS];
+        private final int[] maxCounts = new int[MAX_STACKS];
+        private final int[] leftover = new int[MAX_STACKS];
+        private int[] pieceStack = new int[0];
+        private int[] pieceSize = new int[0];
+        private int[] burstSize = new int[0];
+        private long[] burstSeed = new long[0];
+        private final ArrayDeque<Burst> pool = new ArrayDeque<>();
+
+        private void ensurePieces(int pieces) {
+            if (pieceStack.length >= pieces) return;
+            pieceStack = new int[pieces];
+            pieceSize = new int[pieces];
+            burstSize = new int[pieces / BURST_MIN + 1]; // every burst but the last has at least BURST_MIN pieces
+            burstSeed = new long[pieces / BURST_MIN + 1];
+        }
+    }
+
+    /** One burst, waiting on the task wheel; goes back to its world's pool once it has flown. */
+    private static final class Burst implements Runnable {
+        private final Item[] items = new Item[BURST_MAX];
+        private final int[] sizes = new int[BURST_MAX];
+        private ServerWorld world;
+        private Scratch owner;
+        private double x, y, z;
+        private long seed;
+        private int size;
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            Random rand = DuoyunRandom.fork(world, DuoyunRandom.Stream.DEFERRED, seed);
+            for (int i = 0; i < size; i++) {
+                double phi = rand.nextDouble() * Math.PI * 2.0;
+                double hspd = (MIN_SPEED + rand.nextDouble() * (MAX_SPEED - MIN_SPEED)) * VX_FACTOR;
+                double vy = (UP_MIN + rand.nextDouble() * (UP_MAX - UP_MIN)) * VY_BOOST;
+                double sx = x + (rand.nextDouble() * 2 - 1) * JITTER;
+                double sz = z + (rand.nextDouble() * 2 - 1) * JITTER;
+
+                ItemEntity entity = new ItemEntity(world, sx, y + 1.1, sz, new ItemStack(items[i], sizes[i]));
+                entity.setVelocity(Math.cos(phi) * hspd, vy, Math.sin(phi) * hspd);
+                entity.setToDefaultPickupDelay();
+                world.spawnEntity(entity);
+            }
+            DuoyunMetrics.record(DuoyunMetrics.Stage.SPRAY_BURST, start, size, 0);
+
+            for (int i = 0; i < size; i++) items[i] = null;
+            world = null;
+            owner.pool.push(this);
+        }
+    }
+
+    /** Sprays a nugget spray from the centre of the block at x, y, z; returns the entities spawned right away. */
+    static int nuggets(ServerWorld world, int x, int y, int z, Random rand) {
+        Scratch scratch = WORLDS.computeIfAbsent(world, w -> new Scratch());
+        OutcomeLoot.nuggetSpray(rand, scratch.items, scratch.counts);
+        return spray(world, scratch, scratch.items, scratch.counts, MAX_STACKS, x + 0.5, y + 0.5, z + 0.5, rand);
+    }
+
+    /**
+     * Sprays a summed payload of up to {@link OutcomeLoot#NUGGET_SPRAY_STACKS} stacks (counts may pass the
+     * stack size) from x, y, z; returns the entities spawned right away. The arrays are only read.
+     */
+    static int payload(ServerWorld world, Item[] items, int[] counts, int stacks, double x, double y, double z, Random rand) {
+        Scratch scratch = WORLDS.computeIfAbsent(world, w -> new Scratch());
+        return spray(world, scratch, items, counts, stacks, x, y, z, rand);
+    }
+
+    /**
+     * Plans a spray of {@code items} and {@code counts} (copied into {@code scratch} unless they are its own):
+     * packs them into at most {@code cap} pieces, shuffles those and draws every burst's size and seed,
+     * in the order the spray has always drawn them. Returns the number of bursts.
+     */
+    static int plan(Scratch scratch, Item[] items, int[] counts, int stacks, int cap, Random rand) {
+        if (items != scratch.items) {
+            System.arraycopy(items, 0, scratch.items, 0, stacks);
+            System.arraycopy(counts, 0, scratch.counts, 0, stacks);
+        }
+        // sized by what this payload can fill, so a generous cap costs nothing until a payload uses it
+        scratch.ensurePieces(SprayPlan.maxPieces(scratch.counts, stacks, cap));
+        for (int s = 0; s < stacks; s++) scratch.maxCounts[s] = scratch.items[s].getMaxCount();
+        int pieces = SprayPlan.pack(scratch.counts, scratch.maxCounts, stacks, cap,
+                scratch.pieceStack, scratch.pieceSize, scratch.leftover);
+        shuffle(scratch.pieceStack, scratch.pieceSize, pieces, rand);
+
+        int bursts = 0;
+        for (int cursor = 0; cursor < pieces; bursts++) {
+            int size = Math.min(pieces - cursor, BURST_MIN + rand.nextInt(BURST_MAX - BURST_MIN + 1));
+            scratch.burstSize[bursts] = size;
+            // drawn now so a replayed roll sprays exactly the same way
+            scratch.burstSeed[bursts] = rand.nextLong();
+            cursor += size;
+        }
+        return bursts;
+    }
+
+    private static int spray(ServerWorld world, Scratch scratch, Item[] items, int[] counts, int stacks,
+                             double x, double y, double z, Random rand) {
+        int bursts = plan(scratch, items, counts, stacks,
+                world.getGameRules().getInt(DuoyunGameRules.SPRAY_ENTITY_CAP), rand);
+
+        int spawned = 0;
+        for (int s = 0; s < stacks; s++) {
+            int left = scratch.leftover[s];
+            if (left == 0) continue;
+            // merged per item, so repeated items fill whole stacks first
+            for (int t = s + 1; t < stacks; t++) {
+                if (scratch.items[t] == scratch.items[s]) {
+                    left += scratch.leftover[t];
+                    scratch.leftover[t] = 0;
+                }
+            }
+            while (left > 0) {
+                int size = Math.min(left, scratch.maxCounts[s]);
+                ItemEntity entity = new ItemEntity(world, x, y + 0.5, z, new ItemStack(scratch.items[s], size), 0.0, 0.0, 0.0);
+                entity.setToDefaultPickupDelay();
+                world.spawnEntity(entity);
+                spawned++;
+                left -= size;
+            }
+        }
+
+        // bursts are bound to the spray's chunk so they never load it back in
+        long chunk = ChunkPos.toLong(ChunkSectionPos.getSectionCoord(MathHelper.floor(x)),
+                ChunkSectionPos.getSectionCoord(MathHelper.floor(z)));
+        int cursor = 0;
+        for (int burstIndex = 0; burstIndex < bursts; burstIndex++) {
+            int size = scratch.burstSize[burstIndex];
+
+            Burst burst = scratch.pool.poll();
+            if (burst == null) burst = new Burst();
+            burst.owner = scratch;
+            burst.world = world;
+            burst.x = x;
+            burst.y = y;
+            burst.z = z;
+            burst.size = size;
+            for (int i = 0; i < size; i++) {
+                burst.items[i] = scratch.items[scratch.pieceStack[cursor + i]];
+                burst.sizes[i] = scratch.pieceSize[cursor + i];
+            }
+            cursor += size;
+
+            burst.seed = scratch.burstSeed[burstIndex];
+            TickTasks.in(world, chunk, TickTasks.ChunkPolicy.RESUME, burstIndex * BURST_PERIOD, burst);
+        }
+
+        for (int s = 0; s < stacks; s++) scratch.items[s] = null;
+        return spawned;
+    }
+
+    /** {@link net.minecraft.util.Util#shuffle} over the first {@code n} pieces, same draws. */
+    private static void shuffle(int[] stack, int[] size, int n, Random rand) {
+        for (int j = n; j > 1; j--) {
+            int a = j - 1;
+            int b = rand.nextInt(j);
+            int t = stack[a];
+            stack[a] = stack[b];
+            stack[b] = t;
+            t = size[a];
+            size[a] = size[b];
+            size[b] = t;
+        }
+    }
+
+    private DuoyunSpray() {}
+}
@@ -0,0 +1,68 @@
+package io.github.tristoris.duoyunblocks.blocks;
+
+import io.github.tristoris.duoyunblocks.entities.DuoyunBlockEntity;
+import io.github.tristoris.duoyunblocks.util.DuoyunGameRules;
+import io.github.tristoris.duoyunblocks.util.TickTasks;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+/**
+ * Where a placed Duoyun block keeps its luck, chosen with the duoyunLuckInBlockState gamerule.
+ *
+ * Off (the default), every block has a {@link DuoyunBlockEntity}. On, luck is the block's
+ * {@link DuoyunBlock#LUCK_STEP} state property and no block entity is created; block entities still
+ * saved in chunks are folded into the state one tick after they load. Turning the mode off again
+ * needs no migration: a block entity created for a stateful block starts from the state's luck.
+ */
+public final class LuckStorage {
+    private static volatile boolean inBlockState;
+
+    public static boolean inBlockState() {
+        return inBlockState;
+    }
+
+    /** Called from the gamerule's change callback and when the overworld loads. */
+    public static void setInBlockState(boolean enabled) {
+        inBlockState = enabled;
+    }
+
+    public static void init() {
+        // game rules are server wide; read them before the spawn chunks start loading
+        ServerWorldEvents.LOAD.register((server, world) -> {
+            if (world.getRegistryKey() == World.OVERWORLD) {
+                setInBlockState(world.getGameRules().getBoolean(DuoyunGameRules.LUCK_IN_BLOCK_STATE));
+            }
+        });
+        ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((blockEntity, world) -> {
+            if (inBlockState && blockEntity instanceof DuoyunBlockEntity) {
+                BlockPos pos = blockEntity.getPos().toImmutable();
+                // not from inside the load callback: the chunk is still being attached to the world
+                TickTasks.in(world, new ChunkPos(pos), TickTasks.ChunkPolicy.RESUME, 1, () -> migrate(world, pos));
+            }
+        });
+    }
+
+    private static void migrate(ServerWorld world, BlockPos pos) {
+        if (!inBlockState) return;
+        BlockEntity be = world.getBlockEntity(pos);
+        BlockState state = world.getBlockState(pos);
+        if (!(be instanceof DuoyunBlockEntity duoyunBe) || !(state.getBlock() instanceof DuoyunBlock)) return;
+
+        int step = DuoyunBlock.luckStep(duoyunBe.getLuck());
+        world.removeBlockEntity(pos);
+        if (state.get(DuoyunBlock.LUCK_STEP) != step) {
+            world.setBlockState(pos, state.with(DuoyunBlock.LUCK_STEP, step), Block.NOTIFY_LISTENERS);
+        }
+        // removing the block entity untracked the block
+        DuoyunGlowManager.track(world, pos);
+    }
+
+    private LuckStorage() {}
+}
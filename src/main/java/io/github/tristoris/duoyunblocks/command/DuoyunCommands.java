@@ -0,0 +1,211 @@
+package io.github.tristoris.duoyunblocks.command;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import io.github.tristoris.duoyunblocks.audit.RollAudit;
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import io.github.tristoris.duoyunblocks.metrics.DuoyunMetrics;
+import io.github.tristoris.duoyunblocks.util.Diagnostics;
+import io.github.tristoris.duoyunblocks.util.DuoyunRandom;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.command.argument.GameProfileArgumentType;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * The /duoyun operator command.
+ *
+ *  - /duoyun replay &lt;seed&gt;: the next Duoyun block broken in this dimension rolls with a recorded seed
+ *  - /duoyun diag subscribe [debug|info|warn], /duoyun diag unsubscribe: diagnostics in your chat
+ *  - /duoyun diag mode off|log|chat: where diagnostics go at all
+ *  - /duoyun audit player &lt;player&gt; [count], /duoyun audit area &lt;radius&gt; [count]: recent rolls from the audit log
+ *  - /duoyun stats [reset]: p50/p99 per hot path and entities spawned per minute since start (or the last reset)
+ *  - /duoyun stress breaks|arenas|rewards|alloc ...: load scenarios by hand, see {@link DuoyunStress}
+ */
+public final class DuoyunCommands {
+    private static final int AUDIT_DEFAULT_COUNT = 10;
+    private static final int AUDIT_MAX_COUNT = 100;
+    private static final int AUDIT_DAYS = 7;
+    private static final DateTimeFormatter AUDIT_TIME = DateTimeFormatter.ofPattern("MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    public static void init() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) ->
+                dispatcher.register(CommandManager.literal("duoyun")
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .then(CommandManager.literal("replay")
+                                .then(CommandManager.argument("seed", LongArgumentType.longArg())
+                                        .executes(context -> {
+                                            long seed = LongArgumentType.getLong(context, "seed");
+                                            DuoyunRandom.replay(context.getSource().getWorld(), DuoyunRandom.Stream.BREAK, seed);
+                                            context.getSource().sendFeedback(
+                                                    () -> Text.literal("Next Duoyun roll here uses seed " + seed), true);
+                                            return 1;
+                                        })))
+                        .then(diag())
+                        .then(audit())
+                        .then(stats())
+                        .then(DuoyunStress.command())));
+    }
+
+    private static LiteralArgumentBuilder<ServerCommandSource> diag() {
+        LiteralArgumentBuilder<ServerCommandSource> subscribe = CommandManager.literal("subscribe")
+                .executes(context -> subscribe(context.getSource(), Diagnostics.Level.INFO));
+        for (Diagnostics.Level level : Diagnostics.Level.values()) {
+            subscribe.then(CommandManager.literal(level.name().toLowerCase(Locale.ROOT))
+                    .executes(context -> subscribe(context.getSource(), level)));
+        }
+
+        LiteralArgumentBuilder<ServerCommandSource> mode = CommandManager.literal("mode")
+                .executes(context -> {
+                    context.getSource().sendFeedback(
+                            () -> Text.literal("Diagnostics mode: " + Diagnostics.mode().name().toLowerCase(Locale.ROOT)), false);
+                    return 1;
+                });
+        for (Diagnostics.Mode m : Diagnostics.Mode.values()) {
+            mode.then(CommandManager.literal(m.name().toLowerCase(Locale.ROOT))
+                    .executes(context -> {
+                        Diagnostics.setMode(m);
+                        context.getSource().sendFeedback(
+                                () -> Text.literal("Diagnostics mode set to " + m.name().toLowerCase(Locale.ROOT)), true);
+                        return 1;
+                    }));
+        }
+
+        return CommandManager.literal("diag")
+                .then(subscribe)
+                .then(CommandManager.literal("unsubscribe")
+                        .executes(context -> {
+                            Diagnostics.unsubscribe(context.getSource().getPlayerOrThrow());
+                            context.getSource().sendFeedback(() -> Text.literal("Unsubscribed from diagnostics"), false);
+                            return 1;
+                        }))
+                .then(mode);
+    }
+
+    private static int subscribe(ServerCommandSource source, Diagnostics.Level level) throws CommandSyntaxException {
+        Diagnostics.subscribe(source.getPlayerOrThrow(), level);
+        source.sendFeedback(() -> Text.literal("Subscribed to diagnostics at "
+                + level.name().toLowerCase(Locale.ROOT) + (Diagnostics.mode() == Diagnostics.Mode.CHAT ? "" : " (mode is not chat)")), false);
+        return 1;
+    }
+
+    private static LiteralArgumentBuilder<ServerCommandSource> audit() {
+        return CommandManager.literal("audit")
+                .then(CommandManager.literal("player")
+                        // profiles rather than entities, so players who have logged off can be looked up too
+                        .then(CommandManager.argument("player", GameProfileArgumentType.gameProfile())
+                                .executes(context -> auditPlayer(context.getSource(),
+                                        profileIds(context), AUDIT_DEFAULT_COUNT))
+                                .then(CommandManager.argument("count", IntegerArgumentType.integer(1, AUDIT_MAX_COUNT))
+                                        .executes(context -> auditPlayer(context.getSource(),
+                                                profileIds(context),
+                                                IntegerArgumentType.getInteger(context, "count"))))))
+                .then(CommandManager.literal("area")
+                        .then(CommandManager.argument("radius", IntegerArgumentType.integer(0, 256))
+                                .executes(context -> auditArea(context.getSource(),
+                                        IntegerArgumentType.getInteger(context, "radius"), AUDIT_DEFAULT_COUNT))
+                                .then(CommandManager.argument("count", IntegerArgumentType.integer(1, AUDIT_MAX_COUNT))
+                                        .executes(context -> auditArea(context.getSource(),
+                                                IntegerArgumentType.getInteger(context, "radius"),
+                                                IntegerArgumentType.getInteger(context, "count"))))));
+    }
+
+    private static List<UUID> profileIds(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        return GameProfileArgumentType.getProfileArgument(context, "player").stream().map(profile -> profile.id()).toList();
+    }
+
+    private static int auditPlayer(ServerCommandSource source, List<UUID> ids, int count) {
+        return audit(source, entry -> entry.player() != null && ids.contains(entry.player()), count);
+    }
+
+    private static int auditArea(ServerCommandSource source, int radius, int count) {
+        BlockPos center = BlockPos.ofFloored(source.getPosition());
+        int dimension = source.getWorld().getRegistryKey().getValue().hashCode();
+        long radiusSq = (long) radius * radius;
+        return audit(source, entry -> entry.dimension() == dimension
+                && entry.pos().getSquaredDistance(center) <= radiusSq, count);
+    }
+
+    /** Scans the log on a virtual thread and reports back on the server thread. */
+    private static int audit(ServerCommandSource source, Predicate<RollAudit.Entry> filter, int count) {
+        Thread.ofVirtual().name("duoyun-audit-query").start(() -> {
+            List<RollAudit.Entry> found;
+            try {
+                found = RollAudit.query(filter, count, AUDIT_DAYS);
+            } catch (IOException e) {
+                source.getServer().execute(() -> source.sendError(Text.literal("Could not read the audit log: " + e.getMessage())));
+                return;
+            }
+            source.getServer().execute(() -> {
+                if (found.isEmpty()) {
+                    source.sendFeedback(() -> Text.literal("No audited Duoyun rolls match"), false);
+                    return;
+                }
+                for (RollAudit.Entry entry : found) {
+                    source.sendFeedback(() -> Text.literal(String.format(Locale.ROOT,
+                            "%s %s %d %d %d luck %.0f%+.1f hit %.1f -> %s (seed %d)",
+                            AUDIT_TIME.format(Instant.ofEpochMilli(entry.time())),
+                            entry.source().name().toLowerCase(Locale.ROOT),
+                            entry.x(), entry.y(), entry.z(),
+                            entry.blockLuck(), entry.bonusLuck(), entry.hit(),
+                            entry.outcome().id(), entry.seed())), false);
+                }
+                long dropped = RollAudit.dropped();
+                if (dropped > 0) {
+                    source.sendFeedback(() -> Text.literal(dropped + " rolls were dropped from the audit log under load"), false);
+                }
+            });
+        });
+        return 1;
+    }
+
+    private static LiteralArgumentBuilder<ServerCommandSource> stats() {
+        return CommandManager.literal("stats")
+                .executes(context -> {
+                    ServerCommandSource source = context.getSource();
+                    source.sendFeedback(() -> Text.literal("Duoyun stats (stage: count, p50, p99, entities, block writes)"), false);
+                    for (DuoyunMetrics.Stage stage : DuoyunMetrics.Stage.values()) {
+                        if (stage.count() == 0) continue;
+                        source.sendFeedback(() -> Text.literal(String.format(Locale.ROOT, " %s: %d, %s, %s, %d, %d",
+                                stage.label(), stage.count(), duration(stage.percentile(0.5)), duration(stage.percentile(0.99)),
+                                stage.entities(), stage.blockWrites())), false);
+                    }
+
+                    StringBuilder outcomes = new StringBuilder(" outcomes:");
+                    for (DuoyunOutcome outcome : DuoyunOutcome.values()) {
+                        outcomes.append(' ').append(outcome.id()).append('=').append(DuoyunMetrics.outcomes(outcome));
+                    }
+                    source.sendFeedback(() -> Text.literal(outcomes.toString()), false);
+                    source.sendFeedback(() -> Text.literal(" entities spawned in the last minute: "
+                            + DuoyunMetrics.entitiesLastMinute()), false);
+                    return 1;
+                })
+                .then(CommandManager.literal("reset")
+                        .executes(context -> {
+                            DuoyunMetrics.reset();
+                            context.getSource().sendFeedback(() -> Text.literal("Duoyun stats reset"), true);
+                            return 1;
+                        }));
+    }
+
+    private static String duration(long nanos) {
+        if (nanos < 1_000_000L) return String.format(Locale.ROOT, "%.1fus", nanos / 1_000.0);
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+    }
+
+    private DuoyunCommands() {}
+}
@@ -0,0 +1,112 @@
+package io.github.tristoris.duoyunblocks.command;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import io.github.tristoris.duoyunblocks.DuoyunBlocks;
+import io.github.tristoris.duoyunblocks.metrics.StressScenarios;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * /duoyun stress: runs a {@link StressScenarios} scenario by hand, at the caller's position.
+ *
+ *  - breaks &lt;count&gt; [luck] [seed]: that many blocks broken in one tick
+ *  - arenas &lt;count&gt;: that many Blaze arenas queued at once
+ *  - rewards &lt;count&gt;: that many 25-diamond reward showers in one tick
+ *  - alloc &lt;count&gt;: that many break decisions, checked for heap allocation; reported right away
+ *
+ * The verdict is sent to the caller and logged. The regression suite runs the same scenarios as
+ * GameTests; this is for poking at a live server, so run it in a scratch world: it really spawns
+ * everything it reports.
+ */
+public final class DuoyunStress {
+    private static final int MAX_COUNT = 10_000;
+
+    static LiteralArgumentBuilder<ServerCommandSource> command() {
+        return CommandManager.literal("stress")
+                .then(CommandManager.literal("breaks")
+                        .then(CommandManager.argument("count", IntegerArgumentType.integer(1, MAX_COUNT))
+                                .executes(context -> breaks(context.getSource(),
+                                        IntegerArgumentType.getInteger(context, "count"), 0, 0L))
+                                .then(CommandManager.argument("luck", IntegerArgumentType.integer(-100, 100))
+                                        .executes(context -> breaks(context.getSource(),
+                                                IntegerArgumentType.getInteger(context, "count"),
+                                                IntegerArgumentType.getInteger(context, "luck"), 0L))
+                                        .then(CommandManager.argument("seed", LongArgumentType.longArg())
+                                                .executes(context -> breaks(context.getSource(),
+                                                        IntegerArgumentType.getInteger(context, "count"),
+                                                        IntegerArgumentType.getInteger(context, "luck"),
+                                                        LongArgumentType.getLong(context, "seed")))))))
+                .then(CommandManager.literal("arenas")
+                        .then(CommandManager.argument("count", IntegerArgumentType.integer(1, 256))
+                                .executes(context -> arenas(context.getSource(), IntegerArgumentType.getInteger(context, "count")))))
+                .then(CommandManager.literal("rewards")
+                        .then(CommandManager.argument("count", IntegerArgumentType.integer(1, MAX_COUNT))
+                                .executes(context -> rewards(context.getSource(), IntegerArgumentType.getInteger(context, "count")))))
+                .then(CommandManager.literal("alloc")
+                        .then(CommandManager.argument("count", IntegerArgumentType.integer(1, 10_000_000))
+                                .executes(context -> alloc(context.getSource(), IntegerArgumentType.getInteger(context, "count")))));
+    }
+
+    private static int breaks(ServerCommandSource source, int count, int luck, long seed) {
+        if (busy(source)) return 0;
+        started(source, StressScenarios.breaks(source.getWorld(), origin(source), count, luck, seed,
+                result -> report(source, result.passed(), result.report())));
+        return 1;
+    }
+
+    private static int arenas(ServerCommandSource source, int count) {
+        if (busy(source)) return 0;
+        started(source, StressScenarios.arenas(source.getWorld(), origin(source), count,
+                result -> report(source, result.passed(), result.report())));
+        return 1;
+    }
+
+    private static int rewards(ServerCommandSource source, int count) {
+        if (busy(source)) return 0;
+        started(source, StressScenarios.rewards(source.getWorld(), origin(source), count,
+                result -> report(source, result.passed(), result.report())));
+        return 1;
+    }
+
+    private static int alloc(ServerCommandSource source, int count) {
+        if (busy(source)) return 0;
+        StressScenarios.Allocation allocation = StressScenarios.allocation(source.getWorld(), origin(source), count);
+        if (allocation == null) {
+            source.sendError(Text.literal("This JVM cannot measure per-thread allocation"));
+            return 0;
+        }
+        report(source, allocation.passed(), allocation.report());
+        return 1;
+    }
+
+    private static BlockPos origin(ServerCommandSource source) {
+        return BlockPos.ofFloored(source.getPosition());
+    }
+
+    private static boolean busy(ServerCommandSource source) {
+        StressScenarios.Run active = StressScenarios.active();
+        if (active == null) return false;
+        source.sendError(Text.literal("A stress run (" + active.name() + ") is still going"));
+        return true;
+    }
+
+    private static void started(ServerCommandSource source, StressScenarios.Run run) {
+        source.sendFeedback(() -> Text.literal("Stress " + run.name() + ": settling for " + run.settleTicks() + " ticks"), false);
+    }
+
+    private static void report(ServerCommandSource source, boolean pass, String report) {
+        if (pass) {
+            DuoyunBlocks.LOGGER.info(report);
+            source.sendFeedback(() -> Text.literal(report), false);
+        } else {
+            DuoyunBlocks.LOGGER.warn(report);
+            source.sendError(Text.literal(report));
+        }
+    }
+
+    private DuoyunStress() {}
+}
@@ -0,0 +1,102 @@
+package io.github.tristoris.duoyunblocks.components;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.encoding.VarInts;
+import net.minecraft.util.StringIdentifiable;
+
+/**
+ * Everything a Duoyun item carries, in one component.
+ *
+ *  - luck: [-100, 100], what the placed block rolls with
+ *  - tier: upgrade tier, 0 for now
+ *  - rolls: how often this block has been opened/re-rolled, 0 for now
+ *  - origin: where the stack came from
+ *
+ * On the wire every field is a varint (luck zigzag encoded), so a plain stack costs four bytes.
+ * Stats that differ from the default only in luck are interned, so setting luck never allocates.
+ */
+public record DuoyunStats(int luck, int tier, int rolls, Origin origin) {
+    public static final int MIN_LUCK = -100;
+    public static final int MAX_LUCK = 100;
+
+    public enum Origin implements StringIdentifiable {
+        UNKNOWN("unknown"),
+        CRAFTED("crafted"),
+        MINED("mined"),
+        GENERATED("generated");
+
+        public static final Codec<Origin> CODEC = StringIdentifiable.createCodec(Origin::values);
+        private static final Origin[] VALUES = values();
+
+        private final String name;
+
+        Origin(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String asString() {
+            return name;
+        }
+    }
+
+    private static final DuoyunStats[] BY_LUCK = new DuoyunStats[MAX_LUCK - MIN_LUCK + 1];
+
+    static {
+        for (int luck = MIN_LUCK; luck <= MAX_LUCK; luck++) {
+            BY_LUCK[luck - MIN_LUCK] = new DuoyunStats(luck, 0, 0, Origin.UNKNOWN);
+        }
+    }
+
+    public static final DuoyunStats DEFAULT = ofLuck(0);
+
+    public static final Codec<DuoyunStats> CODEC = RecordCodecBuilder.create(instance ->
+            instance.group(
+                    Codec.intRange(MIN_LUCK, MAX_LUCK).optionalFieldOf("luck", 0).forGetter(DuoyunStats::luck),
+                    Codec.INT.optionalFieldOf("tier", 0).forGetter(DuoyunStats::tier),
+                    Codec.INT.optionalFieldOf("rolls", 0).forGetter(DuoyunStats::rolls),
+                    Origin.CODEC.optionalFieldOf("origin", Origin.UNKNOWN).forGetter(DuoyunStats::origin)
+            ).apply(instance, DuoyunStats::of)
+    );
+
+    public static final PacketCodec<ByteBuf, DuoyunStats> PACKET_CODEC = PacketCodec.ofStatic(
+            (buf, stats) -> {
+                VarInts.write(buf, (stats.luck << 1) ^ (stats.luck >> 31)); // zigzag: -100..100 fits in two bytes
+                VarInts.write(buf, stats.tier);
+                VarInts.write(buf, stats.rolls);
+                VarInts.write(buf, stats.origin.ordinal());
+            },
+            buf -> {
+                int zigzag = VarInts.read(buf);
+                int luck = (zigzag >>> 1) ^ -(zigzag & 1);
+                int tier = VarInts.read(buf);
+                int rolls = VarInts.read(buf);
+                int origin = VarInts.read(buf);
+                return of(luck, tier, rolls, origin >= 0 && origin < Origin.VALUES.length ? Origin.VALUES[origin] : Origin.UNKNOWN);
+            }
+    );
+
+    public static DuoyunStats ofLuck(int luck) {
+        return BY_LUCK[clampLuck(luck) - MIN_LUCK];
+    }
+
+    public static DuoyunStats of(int luck, int tier, int rolls, Origin origin) {
+        if (tier == 0 && rolls == 0 && origin == Origin.UNKNOWN) return ofLuck(luck);
+        return new DuoyunStats(clampLuck(luck), tier, rolls, origin);
+    }
+
+    public DuoyunStats withLuck(int luck) {
+        return of(luck, tier, rolls, origin);
+    }
+
+    public DuoyunStats withOrigin(Origin origin) {
+        return of(luck, tier, rolls, origin);
+    }
+
+    private static int clampLuck(int luck) {
+        return Math.max(MIN_LUCK, Math.min(MAX_LUCK, luck));
+    }
+}
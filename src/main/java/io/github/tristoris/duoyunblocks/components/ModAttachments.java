@@ -0,0 +1,25 @@
+package io.github.tristoris.duoyunblocks.components;
+
+import io.github.tristoris.duoyunblocks.DuoyunBlocks;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Uuids;
+
+import java.util.UUID;
+
+public final class ModAttachments {
+    /** Id of the arena a blaze was spawned for; saved with the entity. */
+    public static final AttachmentType<UUID> ARENA =
+            AttachmentRegistry.create(id("arena"), builder -> builder.persistent(Uuids.CODEC));
+
+    public static void registerModAttachments() {
+
+    }
+
+    private static Identifier id(String path) {
+        return Identifier.of(DuoyunBlocks.MOD_ID, path);
+    }
+
+    private ModAttachments() {}
+}
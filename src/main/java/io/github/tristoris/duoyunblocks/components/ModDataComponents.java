@@ -10,9 +10,13 @@ import net.minecraft.util.Identifier;
 import java.util.function.UnaryOperator;
 
 public final class ModDataComponents {
+    /** Superseded by {@link #STATS}; still read so stacks saved before it keep their luck. */
     public static final ComponentType<Integer> LUCK =
             register("luck", builder -> builder.codec(Codec.INT));
 
+    public static final ComponentType<DuoyunStats> STATS =
+            register("stats", builder -> builder.codec(DuoyunStats.CODEC).packetCodec(DuoyunStats.PACKET_CODEC).cache());
+
     public static void registerModDataComponents() {
 
     }
@@ -1,5 +1,6 @@
 package io.github.tristoris.duoyunblocks.creative;
 
+import io.github.tristoris.duoyunblocks.blocks.BlockDefiner;
 import io.github.tristoris.duoyunblocks.items.ItemDefiner;
 import net.fabricmc.fabric.api.itemgroup.v1.ItemGroupEvents;
 import net.minecraft.item.ItemGroups;
@@ -16,6 +17,7 @@ public final class CreativeTabDefiner {
             entries.add(ItemDefiner.DUOYUN_BLOCK_ITEM_BAD_LUCK);
             entries.add(ItemDefiner.DUOYUN_BLOCK_ITEM);
             entries.add(ItemDefiner.DUOYUN_BLOCK_ITEM_GOOD_LUCK);
+            entries.add(BlockDefiner.DUOYUN_OPENER);
         });
     }
 
@@ -1,15 +1,36 @@
 package io.github.tristoris.duoyunblocks.entities;
 
+import io.github.tristoris.duoyunblocks.blocks.DuoyunBlock;
+import io.github.tristoris.duoyunblocks.core.LuckBytes;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.storage.ReadView;
+import net.minecraft.storage.WriteView;
 import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * Holds the luck of a placed Duoyun block.
+ *
+ * Saved as a single byte under "luck", and only when it differs from the block's default
+ * (the luck of its state), so an untouched block writes nothing; see {@link LuckBytes}. The same
+ * data is what clients get with the chunk and on changes.
+ */
 public class DuoyunBlockEntity extends BlockEntity {
+    private static final String LUCK_KEY = "luck";
+
     private double luck;
 
     public DuoyunBlockEntity(BlockPos pos, BlockState state) {
         super(EntityDefiner.DUOYUN_BLOCK_ENTITY, pos, state);
+        this.luck = defaultLuck(state);
     }
 
     public DuoyunBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state, double luck) {
@@ -18,9 +39,42 @@ public class DuoyunBlockEntity extends BlockEntity {
     }
 
     public void setLuck(double luck) {
+        if (luck == this.luck) return;
         this.luck = luck;
         markDirty();
+        if (world != null && !world.isClient()) {
+            world.updateListeners(pos, getCachedState(), getCachedState(), Block.NOTIFY_LISTENERS);
+        }
     }
 
     public double getLuck() { return luck; }
+
+    private static double defaultLuck(BlockState state) {
+        return state.getBlock() instanceof DuoyunBlock ? DuoyunBlock.luckOf(state) : 0.0;
+    }
+
+    @Override
+    protected void writeData(WriteView view) {
+        super.writeData(view);
+        if (!LuckBytes.omit(luck, defaultLuck(getCachedState()))) {
+            view.putByte(LUCK_KEY, LuckBytes.encode(luck));
+        }
+    }
+
+    @Override
+    protected void readData(ReadView view) {
+        super.readData(view);
+        // nothing stored means the default, as it would have been saved
+        luck = LuckBytes.decode(view.getByte(LUCK_KEY, LuckBytes.encode(defaultLuck(getCachedState()))));
+    }
+
+    @Override
+    public @Nullable Packet<ClientPlayPacketListener> toUpdatePacket() {
+        return BlockEntityUpdateS2CPacket.create(this);
+    }
+
+    @Override
+    public NbtCompound toInitialChunkDataNbt(RegistryWrapper.WrapperLookup registries) {
+        return createComponentlessNbt(registries);
+    }
 }
@@ -0,0 +1,204 @@
+package io.github.tristoris.duoyunblocks.entities;
+
+import io.github.tristoris.duoyunblocks.audit.RollAudit;
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import io.github.tristoris.duoyunblocks.items.DuoyunBlockItem;
+import io.github.tristoris.duoyunblocks.outcome.EntityOutcomePolicy;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeLoot;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeTables;
+import io.github.tristoris.duoyunblocks.util.DuoyunGameRules;
+import io.github.tristoris.duoyunblocks.util.DuoyunRandom;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.inventory.Inventories;
+import net.minecraft.inventory.SidedInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.storage.ReadView;
+import net.minecraft.storage.WriteView;
+import net.minecraft.util.ItemScatterer;
+import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inventory and logic of the Duoyun Opener.
+ *
+ * Duoyun items go into the input slot (from the top or the sides); every tick up to
+ * duoyunOpenerRollsPerTick of them are rolled with their own luck and whatever the outcome is
+ * worth goes into the output slots (taken from the bottom). Nothing is spawned in the world:
+ * outcomes that are entities only are mapped or skipped per the duoyunOpenerEntityOutcomes gamerule.
+ * When the output is full the loot waits in a small backlog and the opener stops rolling.
+ */
+public class DuoyunOpenerBlockEntity extends BlockEntity implements SidedInventory {
+    public static final int INPUT_SLOT = 0;
+    public static final int OUTPUT_SLOTS = 9;
+
+    private static final int[] INPUT = {INPUT_SLOT};
+    private static final int[] OUTPUT = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+    private final DefaultedList<ItemStack> inventory = DefaultedList.ofSize(1 + OUTPUT_SLOTS, ItemStack.EMPTY);
+    private final List<ItemStack> backlog = new ArrayList<>(); // loot that did not fit yet
+    private final List<ItemStack> loot = new ArrayList<>();    // scratch, reused every roll
+
+    public DuoyunOpenerBlockEntity(BlockPos pos, BlockState state) {
+        super(EntityDefiner.DUOYUN_OPENER_ENTITY, pos, state);
+    }
+
+    public static void tick(World world, BlockPos pos, BlockState state, DuoyunOpenerBlockEntity opener) {
+        if (!(world instanceof ServerWorld server)) return;
+
+        if (!opener.backlog.isEmpty()) {
+            if (opener.store(opener.backlog)) opener.markDirty();
+            if (!opener.backlog.isEmpty()) return; // still full
+        }
+
+        ItemStack input = opener.inventory.get(INPUT_SLOT);
+        if (input.isEmpty() || !(input.getItem() instanceof DuoyunBlockItem)) return;
+
+        int rolls = Math.min(input.getCount(), server.getGameRules().getInt(DuoyunGameRules.OPENER_ROLLS_PER_TICK));
+        if (rolls <= 0) return;
+
+        EntityOutcomePolicy policy = server.getGameRules().get(DuoyunGameRules.OPENER_ENTITY_OUTCOMES).get();
+        int luck = DuoyunBlockItem.getLuck(input);
+        for (int i = 0; i < rolls; i++) {
+            Random rand = DuoyunRandom.next(server, DuoyunRandom.Stream.OPENER);
+            DuoyunOutcome outcome = OutcomeTables.roll(server, pos, null, RollAudit.Source.OPENER, luck, 0.0, rand);
+            opener.loot.clear();
+            OutcomeLoot.collect(outcome, rand, policy, opener.loot);
+            input.decrement(1);
+            opener.store(opener.loot);
+            if (!opener.loot.isEmpty()) {
+                opener.backlog.addAll(opener.loot);
+                break;
+            }
+        }
+        opener.loot.clear();
+        opener.markDirty(); // at least one input was used up
+    }
+
+    /**
+     * Moves as much of {@code stacks} as fits into the output slots; what is left stays in the list.
+     * Returns whether anything moved.
+     */
+    private boolean store(List<ItemStack> stacks) {
+        boolean moved = false;
+        for (int s = stacks.size() - 1; s >= 0; s--) {
+            ItemStack stack = stacks.get(s);
+            for (int slot = 1; slot <= OUTPUT_SLOTS && !stack.isEmpty(); slot++) {
+                ItemStack existing = inventory.get(slot);
+                if (existing.isEmpty()) {
+                    inventory.set(slot, stack.split(stack.getMaxCount()));
+                    moved = true;
+                } else if (ItemStack.areItemsAndComponentsEqual(existing, stack)) {
+                    int move = Math.min(stack.getCount(), existing.getMaxCount() - existing.getCount());
+                    existing.increment(move);
+                    stack.decrement(move);
+                    moved |= move > 0;
+                }
+            }
+            if (stack.isEmpty()) stacks.remove(s);
+        }
+        return moved;
+    }
+
+    /** Drops the contents and the backlog when the opener is broken. */
+    @Override
+    public void onBlockReplaced(BlockPos pos, BlockState oldState) {
+        if (world != null) {
+            ItemScatterer.spawn(world, pos, this);
+            for (ItemStack stack : backlog) ItemScatterer.spawn(world, pos.getX(), pos.getY(), pos.getZ(), stack);
+            backlog.clear();
+        }
+    }
+
+    @Override
+    protected void writeData(WriteView view) {
+        super.writeData(view);
+        Inventories.writeData(view, inventory);
+        if (!backlog.isEmpty()) view.put("backlog", ItemStack.CODEC.listOf(), backlog);
+    }
+
+    @Override
+    protected void readData(ReadView view) {
+        super.readData(view);
+        inventory.clear();
+        Inventories.readData(view, inventory);
+        backlog.clear();
+        view.read("backlog", ItemStack.CODEC.listOf()).ifPresent(backlog::addAll);
+    }
+
+    // --- SidedInventory: input from the top and sides, output to the bottom ---
+
+    @Override
+    public int[] getAvailableSlots(Direction side) {
+        return side == Direction.DOWN ? OUTPUT : INPUT;
+    }
+
+    @Override
+    public boolean canInsert(int slot, ItemStack stack, @Nullable Direction dir) {
+        return slot == INPUT_SLOT && stack.getItem() instanceof DuoyunBlockItem;
+    }
+
+    @Override
+    public boolean canExtract(int slot, ItemStack stack, Direction dir) {
+        return slot != INPUT_SLOT && dir == Direction.DOWN;
+    }
+
+    @Override
+    public boolean isValid(int slot, ItemStack stack) {
+        return slot == INPUT_SLOT && stack.getItem() instanceof DuoyunBlockItem;
+    }
+
+    @Override
+    public int size() {
+        return inventory.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (ItemStack stack : inventory) if (!stack.isEmpty()) return false;
+        return true;
+    }
+
+    @Override
+    public ItemStack getStack(int slot) {
+        return inventory.get(slot);
+    }
+
+    @Override
+    public ItemStack removeStack(int slot, int amount) {
+        ItemStack removed = Inventories.splitStack(inventory, slot, amount);
+        if (!removed.isEmpty()) markDirty();
+        return removed;
+    }
+
+    @Override
+    public ItemStack removeStack(int slot) {
+        return Inventories.removeStack(inventory, slot);
+    }
+
+    @Override
+    public void setStack(int slot, ItemStack stack) {
+        inventory.set(slot, stack);
+        stack.capCount(getMaxCount(stack));
+        markDirty();
+    }
+
+    @Override
+    public boolean canPlayerUse(PlayerEntity player) {
+        return false; // hopper-fed; there is no screen
+    }
+
+    @Override
+    public void clear() {
+        inventory.clear();
+    }
+}
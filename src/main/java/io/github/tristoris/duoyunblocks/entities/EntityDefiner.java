@@ -19,6 +19,9 @@ public final class EntityDefiner {
     public static final BlockEntityType<DuoyunBlockEntity> DUOYUN_BLOCK_ENTITY =
             register("duoyun_block_entity", DuoyunBlockEntity::new, BlockDefiner.DUOYUN_BLOCK);
 
+    public static final BlockEntityType<DuoyunOpenerBlockEntity> DUOYUN_OPENER_ENTITY =
+            register("duoyun_opener", DuoyunOpenerBlockEntity::new, BlockDefiner.DUOYUN_OPENER);
+
     /**
      * Registers a BlockEntityType with a factory and one or more valid blocks.
      */
@@ -0,0 +1,239 @@
+package io.github.tristoris.duoyunblocks.events;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.github.tristoris.duoyunblocks.DuoyunBlocks;
+import io.github.tristoris.duoyunblocks.components.ModAttachments;
+import io.github.tristoris.duoyunblocks.util.TimeUtils;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.mob.BlazeEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Uuids;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+/**
+ * Per-world record of every Blaze arena that still has something in the world, saved with the level.
+ *
+ * Blazes are not listed here; each one carries its arena id as an entity attachment, so a death
+ * only needs its own entity to find the arena. The registry just counts how many are left, and how
+ * many of those left without being killed: an arena only pays out if every blaze was killed.
+ *
+ * Arenas nobody has been near for {@link #TTL_TICKS} (no player in range, no blaze killed, or the
+ * arena not loaded at all), and arenas whose build was cut short by a restart, are reclaimed by the
+ * sweeper: the attachment is taken off their loaded blazes, and their barriers come down chunk by
+ * chunk as the chunks are loaded.
+ */
+public final class ArenaRegistry extends PersistentState {
+    static final long SWEEP_PERIOD_TICKS = TimeUtils.minutesToTicks(1);
+    private static final long TTL_TICKS = TimeUtils.minutesToTicks(30);
+    private static final double ACTIVE_RANGE = 64.0; // a player this close keeps an arena from going idle
+
+    public static final class Arena {
+        private final UUID id;
+        private final long center;
+        private final @Nullable UUID owner;
+        private final long createdAt;  // world time
+        private long activeAt;         // world time a player was last near or a blaze last killed
+        private long[] barriers;       // packed BlockPos still to be removed on completion/reclaim
+        private int blazes;            // blazes still alive
+        private int vanished;          // blazes that despawned or were discarded instead of killed
+        private boolean released;      // blazes have been spawned
+        private boolean abandoned;     // reclaimed; only kept while barriers remain
+        private boolean building;      // not saved: a build never survives a restart
+
+        private Arena(UUID id, long center, @Nullable UUID owner, long createdAt, long activeAt, long[] barriers,
+                      int blazes, int vanished, boolean released, boolean abandoned) {
+            this.id = id;
+            this.center = center;
+            this.owner = owner;
+            this.createdAt = createdAt;
+            this.activeAt = activeAt;
+            this.barriers = barriers;
+            this.blazes = blazes;
+            this.vanished = vanished;
+            this.released = released;
+            this.abandoned = abandoned;
+        }
+
+        public UUID id() {
+            return id;
+        }
+
+        public BlockPos center() {
+            return BlockPos.fromLong(center);
+        }
+
+        public @Nullable UUID owner() {
+            return owner;
+        }
+
+        /** True if every blaze of the arena was killed, rather than despawned or discarded. */
+        public boolean defeated() {
+            return vanished == 0;
+        }
+    }
+
+    private static final Codec<Arena> ARENA_CODEC = RecordCodecBuilder.create(instance ->
+            instance.group(
+                    Uuids.CODEC.fieldOf("id").forGetter(a -> a.id),
+                    Codec.LONG.fieldOf("center").forGetter(a -> a.center),
+                    Uuids.CODEC.optionalFieldOf("owner").forGetter(a -> Optional.ofNullable(a.owner)),
+                    Codec.LONG.fieldOf("created").forGetter(a -> a.createdAt),
+                    Codec.LONG.optionalFieldOf("active").forGetter(a -> Optional.of(a.activeAt)),
+                    Codec.LONG_STREAM.xmap(LongStream::toArray, LongStream::of).fieldOf("barriers").forGetter(a -> a.barriers),
+                    Codec.INT.fieldOf("blazes").forGetter(a -> a.blazes),
+                    Codec.INT.optionalFieldOf("vanished", 0).forGetter(a -> a.vanished),
+                    Codec.BOOL.fieldOf("released").forGetter(a -> a.released),
+                    Codec.BOOL.optionalFieldOf("abandoned", false).forGetter(a -> a.abandoned)
+            ).apply(instance, (id, center, owner, created, active, barriers, blazes, vanished, released, abandoned) ->
+                    new Arena(id, center, owner.orElse(null), created, active.orElse(created), barriers,
+                            blazes, vanished, released, abandoned))
+    );
+
+    private static final Codec<ArenaRegistry> CODEC = RecordCodecBuilder.create(instance ->
+            instance.group(
+                    ARENA_CODEC.listOf().fieldOf("arenas").forGetter(r -> List.copyOf(r.arenas.values()))
+            ).apply(instance, ArenaRegistry::new)
+    );
+
+    private static final PersistentStateType<ArenaRegistry> TYPE =
+            new PersistentStateType<>(DuoyunBlocks.MOD_ID + "_arenas", ArenaRegistry::new, CODEC, null);
+
+    private final Map<UUID, Arena> arenas = new HashMap<>();
+
+    private ArenaRegistry() {}
+
+    private ArenaRegistry(List<Arena> arenas) {
+        for (Arena arena : arenas) this.arenas.put(arena.id, arena);
+    }
+
+    public static ArenaRegistry get(ServerWorld world) {
+        return world.getPersistentStateManager().getOrCreate(TYPE);
+    }
+
+    /** The world's registry if it ever had an arena; null otherwise, without creating one. */
+    public static @Nullable ArenaRegistry find(ServerWorld world) {
+        return world.getPersistentStateManager().get(TYPE);
+    }
+
+    /** Records a new arena whose terrain is about to be built. */
+    public Arena create(UUID id, BlockPos center, @Nullable UUID owner, long now, long[] barriers) {
+        Arena arena = new Arena(id, center.asLong(), owner, now, now, barriers, 0, 0, false, false);
+        arena.building = true;
+        arenas.put(id, arena);
+        markDirty();
+        return arena;
+    }
+
+    /** The build finished and {@code blazes} blazes were spawned. */
+    public void release(UUID id, int blazes) {
+        Arena arena = arenas.get(id);
+        if (arena == null) return;
+        arena.building = false;
+        arena.released = true;
+        arena.blazes = blazes;
+        markDirty();
+    }
+
+    /**
+     * One of the arena's blazes was killed ({@code killed}) or otherwise left the world for good.
+     * Returns the arena, now removed from the registry, if that was its last blaze; only a
+     * {@link Arena#defeated()} arena has earned its reward.
+     */
+    public @Nullable Arena blazeGone(UUID id, boolean killed, long now) {
+        Arena arena = arenas.get(id);
+        if (arena == null || arena.abandoned) return null;
+        markDirty();
+        if (killed) arena.activeAt = now;
+        else arena.vanished++;
+        if (--arena.blazes > 0) return null;
+        arenas.remove(id);
+        return arena;
+    }
+
+    /** True while the arena is still being built or fought, i.e. its blazes still belong to it. */
+    public boolean isActive(UUID id) {
+        Arena arena = arenas.get(id);
+        return arena != null && !arena.abandoned;
+    }
+
+    /** Removes the barriers of a finished arena that are in loaded chunks; the rest are retried by the sweeper. */
+    public void clearBarriers(ServerWorld world, Arena arena) {
+        arena.barriers = removeBarriers(world, arena.barriers);
+        if (arena.barriers.length > 0) {
+            arena.abandoned = true;
+            arenas.put(arena.id, arena);
+        }
+        markDirty();
+    }
+
+    /** Reclaims idle and orphaned arenas; run every {@link #SWEEP_PERIOD_TICKS}. */
+    void sweep(ServerWorld world) {
+        if (arenas.isEmpty()) return;
+
+        long now = world.getTime();
+        for (Iterator<Arena> it = arenas.values().iterator(); it.hasNext(); ) {
+            Arena arena = it.next();
+            if (!arena.abandoned && (arena.building || isPlayerNear(world, arena))) {
+                arena.activeAt = now;
+                continue;
+            }
+            boolean orphaned = !arena.released && !arena.building; // build lost to a restart
+            boolean expired = now - arena.activeAt > TTL_TICKS;
+            if (!arena.abandoned && !orphaned && !expired) continue;
+
+            if (!arena.abandoned) {
+                DuoyunBlocks.LOGGER.info("Reclaiming arena {} at {}", arena.id, arena.center());
+                arena.abandoned = true;
+                releaseBlazes(world, arena.id);
+            }
+            arena.barriers = removeBarriers(world, arena.barriers);
+            if (arena.barriers.length == 0) it.remove();
+            markDirty();
+        }
+    }
+
+    private static boolean isPlayerNear(ServerWorld world, Arena arena) {
+        BlockPos center = arena.center();
+        return world.isPlayerInRange(center.getX() + 0.5, center.getY(), center.getZ() + 0.5, ACTIVE_RANGE);
+    }
+
+    /** Takes the arena off its loaded blazes; unloaded ones lose it when they load again. */
+    private static void releaseBlazes(ServerWorld world, UUID id) {
+        for (BlazeEntity blaze : world.getEntitiesByType(EntityType.BLAZE, blaze -> id.equals(blaze.getAttached(ModAttachments.ARENA)))) {
+            blaze.removeAttached(ModAttachments.ARENA);
+        }
+    }
+
+    /** Removes the barriers in loaded chunks, returns the positions that could not be reached yet. */
+    private static long[] removeBarriers(ServerWorld world, long[] barriers) {
+        LongArrayList remaining = new LongArrayList();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (long packed : barriers) {
+            pos.set(packed);
+            if (!world.isChunkLoaded(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ()))) {
+                remaining.add(packed);
+                continue;
+            }
+            if (world.getBlockState(pos).isOf(Blocks.BARRIER)) {
+                world.setBlockState(pos, Blocks.AIR.getDefaultState(), Block.NOTIFY_ALL);
+            }
+        }
+        return remaining.toLongArray();
+    }
+}
@@ -1,8 +1,19 @@
 package io.github.tristoris.duoyunblocks.events;
 
+import io.github.tristoris.duoyunblocks.components.ModAttachments;
+import io.github.tristoris.duoyunblocks.metrics.DuoyunMetrics;
 import io.github.tristoris.duoyunblocks.util.BasicUtils;
+import io.github.tristoris.duoyunblocks.util.BlockTemplate;
+import io.github.tristoris.duoyunblocks.util.BulkBlockWriter;
+import io.github.tristoris.duoyunblocks.util.Diagnostics;
+import io.github.tristoris.duoyunblocks.util.DuoyunGameRules;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
 import net.minecraft.block.Blocks;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.SpawnReason;
@@ -11,31 +22,30 @@ import net.minecraft.entity.mob.BlazeEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.text.Text;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Box;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.WeakHashMap;
 
 /**
  * Spawns a 7x7 snow arena centered on a player, cages 4 Blazes (no drops/XP),
  * spawns 8 Snow Golems around the player, adds a barrier ceiling + curtains outside the walls,
- * and triggers a reward event when all Blazes are defeated. Supports multiple arenas.
+ * and triggers a reward event when all Blazes are killed. Supports multiple arenas.
+ * Blazes that despawn or are discarded do not count: once the last blaze is gone, an arena
+ * that lost any of them that way is only cleaned up, with no reward.
+ *
+ * Terrain goes up in stages (floor, walls, barriers, stalls) under a per-tick block/time budget
+ * shared by all arenas of a world; golems and blazes are only spawned once the shell is complete.
+ * A build that reaches an unloaded chunk is parked until that chunk loads again, like a
+ * {@link io.github.tristoris.duoyunblocks.util.TickTasks} task, so it never loads one itself.
+ * Arena state lives in the world's {@link ArenaRegistry}, so it survives restarts.
  */
 public final class BlazeArenaEvent {
 
-    private static final ConcurrentHashMap<UUID, Set<UUID>> ARENA_TO_BLAZES = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<UUID, UUID> BLAZE_TO_ARENA = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<UUID, BlockPos> ARENA_CENTER = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<UUID, Set<BlockPos>> ARENA_BARRIERS = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<UUID, UUID> ARENA_OWNER = new ConcurrentHashMap<>(); // NEW: arena -> owner player UUID
-    private static final Set<UUID> NO_DROP_BLAZES = ConcurrentHashMap.newKeySet();
-
-    private static volatile boolean LISTENER_REGISTERED = false;
-
     private BlazeArenaEvent() {}
 
     // ---------- Public API ----------
@@ -48,263 +58,328 @@ public final class BlazeArenaEvent {
         spawnArenaInternal(world, center, null); // no owner known
     }
 
+    /** Upper bound on the blocks one arena build writes: every template entry, plus the re-shape pass. */
+    public static int maxBlockWrites() {
+        return ARENA_TEMPLATE.size() * 2;
+    }
+
+    /** Entries one arena build steps through: the writes, the re-shape pass and the boundary neighbour pass. */
+    public static int buildEntries() {
+        return ARENA_TEMPLATE.size() * 3;
+    }
+
+    /** Golems and blazes one finished arena spawns. */
+    public static int entitiesPerArena() {
+        return GOLEM_SPOTS.length + BLAZE_SPOTS.length;
+    }
+
     // Core impl
     private static void spawnArenaInternal(ServerWorld world, BlockPos center, UUID ownerUuid) {
-        registerListeners();
-
         final UUID arenaId = UUID.randomUUID();
-        if (ownerUuid != null) ARENA_OWNER.put(arenaId, ownerUuid);
-        ARENA_CENTER.put(arenaId, center);
 
+        // barriers are recorded before anything is built, so a crash mid-build can still clean them up
+        final long[] barrierPositions = new long[BARRIER_OFFSETS.length];
+        for (int i = 0; i < BARRIER_OFFSETS.length; i++) {
+            long offset = BARRIER_OFFSETS[i];
+            barrierPositions[i] = BlockPos.asLong(
+                    center.getX() + BlockPos.unpackLongX(offset),
+                    center.getY() + BlockPos.unpackLongY(offset),
+                    center.getZ() + BlockPos.unpackLongZ(offset));
+        }
+        ArenaRegistry.get(world).create(arenaId, center, ownerUuid, world.getTime(), barrierPositions);
+
+        // terrain is written over the next ticks; entities follow once the shell is done
+        BUILDS.computeIfAbsent(world, w -> new ArrayDeque<>())
+                .add(new BuildJob(arenaId, center.toImmutable(), BulkBlockWriter.begin(world, center, ARENA_TEMPLATE)));
+    }
+
+    // ---------- Staged construction ----------
+
+    private record BuildJob(UUID arenaId, BlockPos center, BulkBlockWriter.Placement placement) {}
+
+    private static final Map<ServerWorld, ArrayDeque<BuildJob>> BUILDS = new WeakHashMap<>();
+    private static final Map<ServerWorld, Long2ObjectOpenHashMap<List<BuildJob>>> PARKED = new WeakHashMap<>();
+
+    private static void onWorldTick(ServerWorld world) {
+        ArrayDeque<BuildJob> jobs = BUILDS.get(world);
+        if (jobs == null || jobs.isEmpty()) return;
+
+        // one budget per world tick, however many arenas are queued
+        long start = System.nanoTime();
+        int blocks = world.getGameRules().getInt(DuoyunGameRules.ARENA_BLOCKS_PER_TICK);
+        int micros = world.getGameRules().getInt(DuoyunGameRules.ARENA_MICROS_PER_TICK);
+        long deadline = micros > 0 ? start + micros * 1000L : BulkBlockWriter.NO_DEADLINE;
+
+        int written = 0;
+        int spawned = 0;
+        while (blocks > 0 && !jobs.isEmpty()) {
+            BuildJob job = jobs.peek();
+            int before = job.placement().written();
+            blocks -= job.placement().step(blocks, deadline);
+            written += job.placement().written() - before;
+            if (job.placement().isBlocked()) {
+                jobs.poll();
+                PARKED.computeIfAbsent(world, w -> new Long2ObjectOpenHashMap<>())
+                        .computeIfAbsent(job.placement().blockedChunk(), c -> new ArrayList<>()).add(job);
+                continue;
+            }
+            if (!job.placement().isDone()) break; // out of budget, carry on next tick
+            jobs.poll();
+            spawned += releaseArena(world, job.arenaId(), job.center());
+        }
+        DuoyunMetrics.record(DuoyunMetrics.Stage.ARENA_BUILD, start, spawned, written);
+    }
+
+    /** Puts the builds parked on {@code chunk} back in the queue; they carry on at the end of the tick. */
+    private static void unpark(ServerWorld world, long chunk) {
+        Long2ObjectOpenHashMap<List<BuildJob>> parked = PARKED.get(world);
+        if (parked == null || parked.isEmpty()) return;
+        List<BuildJob> jobs = parked.remove(chunk);
+        if (jobs != null) BUILDS.computeIfAbsent(world, w -> new ArrayDeque<>()).addAll(jobs);
+    }
+
+    /** Spawns the golems and blazes of a finished shell; returns how many entities that was. */
+    private static int releaseArena(ServerWorld world, UUID arenaId, BlockPos center) {
         final int cx = center.getX();
         final int cy = center.getY();
         final int cz = center.getZ();
 
+        // 3) Snow Golems (8 around center)
+        int golems = 0;
+        for (int[] g : GOLEM_SPOTS) {
+            if (spawn(world, new BlockPos(cx + g[0], cy, cz + g[1]), EntityType.SNOW_GOLEM)) golems++;
+        }
+
+        // 4) Blazes (4 total, at cardinal directions)
+        int blazes = 0;
+        int blazeY = cy + 1;
+        for (int[] b : BLAZE_SPOTS) {
+            BlockPos spot = new BlockPos(cx + b[0], blazeY, cz + b[1]);
+
+            BlazeEntity blaze = EntityType.BLAZE.create(world, SpawnReason.EVENT);
+            if (blaze != null) {
+                blaze.refreshPositionAndAngles(spot.getX() + 0.5, spot.getY(), spot.getZ() + 0.5, 0f, 0f);
+                blaze.setAttached(ModAttachments.ARENA, arenaId); // membership + drop suppression
+                world.spawnEntity(blaze);
+                blazes++;
+            }
+        }
+        ArenaRegistry.get(world).release(arenaId, blazes);
+        return golems + blazes;
+    }
+
+    // ---------- Template ----------
+
+    private static final int[][] GOLEM_SPOTS = {
+            {1, 0}, {-1, 0}, {0, 1}, {0, -1},
+            {1, 1}, {1, -1}, {-1, 1}, {-1, -1}
+    };
+
+    private static final int[][] BLAZE_SPOTS = {
+            {4, 0},   // East
+            {-4, 0},  // West
+            {0, 4},   // South
+            {0, -4}   // North
+    };
+
+    private static final int STAGE_FLOOR    = 0;
+    private static final int STAGE_WALLS    = 1;
+    private static final int STAGE_BARRIERS = 2;
+    private static final int STAGE_STALLS   = 3;
+
+    /** Arena terrain relative to the center block; later writes win, same order as the old per-block build. */
+    private static BlockTemplate compileArena() {
+        BlockTemplate.Builder t = BlockTemplate.builder();
+
         // 1) Floor: 7x7 snow; clear interior
+        t.stage(STAGE_FLOOR);
         for (int dx = -3; dx <= 3; dx++) {
             for (int dz = -3; dz <= 3; dz++) {
-                BlockPos p = new BlockPos(cx + dx, cy - 1, cz + dz);
-                world.setBlockState(p, Blocks.SNOW_BLOCK.getDefaultState(), 3);
-                clear(world, p.up(), 3);
+                t.set(dx, -1, dz, Blocks.SNOW_BLOCK.getDefaultState());
+                clear(t, dx, 0, dz, 3);
             }
         }
 
         // 2) Walls (radius 4, height 2)
+        t.stage(STAGE_WALLS);
         for (int dx = -4; dx <= 4; dx++) {
             for (int dz = -4; dz <= 4; dz++) {
                 if (Math.abs(dx) != 4 && Math.abs(dz) != 4) continue;
-                for (int dy = 0; dy < 2; dy++) {
-                    BlockPos pos = new BlockPos(cx + dx, cy + dy, cz + dz);
-                    world.setBlockState(pos.down(), Blocks.NETHER_BRICKS.getDefaultState(), 3);
-                    world.setBlockState(pos, Blocks.NETHER_BRICKS.getDefaultState(), 3);
-                }
+                t.column(dx, -1, dz, 3, Blocks.NETHER_BRICKS.getDefaultState());
             }
         }
 
         // 2.5) Barrier protection: top ring + vertical curtains outside the wall
-        final Set<BlockPos> barrierPositions = new HashSet<>();
-        final int floorY   = cy - 1; // snow floor we placed
-        final int ceilingY = cy + 4; // 5 blocks above the floor
-        final int radius   = 5;      // outside the brick wall (wall is at radius 4)
+        t.stage(STAGE_BARRIERS);
+        final int floorY   = -1; // snow floor we placed
+        final int ceilingY = 4;  // 5 blocks above the floor
+        final int radius   = 5;  // outside the brick wall (wall is at radius 4)
 
-        // Top ring (hollow square) at ceilingY, radius=5
-        for (int dx = -radius; dx <= radius; dx++) {
-            for (int dz = -radius; dz <= radius; dz++) {
-                if (Math.abs(dx) != radius && Math.abs(dz) != radius) continue;
-                BlockPos p = new BlockPos(cx + dx, ceilingY, cz + dz);
-                world.setBlockState(p, Blocks.BARRIER.getDefaultState(), 3);
-                barrierPositions.add(p.toImmutable());
-            }
-        }
-        // Vertical curtains from floorY..ceilingY on the same perimeter (outside the wall)
+        // Hollow square on the same perimeter from floorY up to and including the top ring at ceilingY
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
                 if (Math.abs(dx) != radius && Math.abs(dz) != radius) continue;
-                for (int y = floorY; y <= ceilingY; y++) {
-                    BlockPos p = new BlockPos(cx + dx, y, cz + dz);
-                    world.setBlockState(p, Blocks.BARRIER.getDefaultState(), 3);
-                    barrierPositions.add(p.toImmutable());
-                }
+                t.column(dx, floorY, dz, ceilingY - floorY + 1, Blocks.BARRIER.getDefaultState());
             }
         }
-        ARENA_BARRIERS.put(arenaId, barrierPositions);
 
-        // 3) Snow Golems (8 around center)
-        BlockPos[] golemSpots = {
-                new BlockPos(cx + 1, cy, cz), new BlockPos(cx - 1, cy, cz),
-                new BlockPos(cx, cy, cz + 1), new BlockPos(cx, cy, cz - 1),
-                new BlockPos(cx + 1, cy, cz + 1), new BlockPos(cx + 1, cy, cz - 1),
-                new BlockPos(cx - 1, cy, cz + 1), new BlockPos(cx - 1, cy, cz - 1)
-        };
-        for (BlockPos gp : golemSpots) {
-            world.setBlockState(gp.down(), Blocks.SNOW_BLOCK.getDefaultState(), 3);
-            clear(world, gp, 2);
-            spawn(world, gp, EntityType.SNOW_GOLEM);
+        // 3) Snow Golem spots
+        t.stage(STAGE_STALLS);
+        for (int[] g : GOLEM_SPOTS) {
+            t.set(g[0], -1, g[1], Blocks.SNOW_BLOCK.getDefaultState());
+            clear(t, g[0], 0, g[1], 2);
         }
 
-        // 4) Blazes (4 total, at cardinal directions)
-        final Set<UUID> blazeSet = ConcurrentHashMap.newKeySet();
-        ARENA_TO_BLAZES.put(arenaId, blazeSet);
-
-        int blazeY = cy + 1;
-        BlockPos[] blazeSpots = {
-                new BlockPos(cx + 4, blazeY, cz),   // East
-                new BlockPos(cx - 4, blazeY, cz),   // West
-                new BlockPos(cx, blazeY, cz + 4),   // South
-                new BlockPos(cx, blazeY, cz - 4)    // North
-        };
-
-        for (BlockPos spot : blazeSpots) {
-            world.setBlockState(spot.down(), Blocks.NETHER_BRICKS.getDefaultState(), 3);
-            clear(world, spot, 3);
-
-            BlazeEntity blaze = EntityType.BLAZE.create(world, SpawnReason.EVENT);
-            if (blaze != null) {
-                blaze.refreshPositionAndAngles(spot.getX() + 0.5, spot.getY(), spot.getZ() + 0.5, 0f, 0f);
-                world.spawnEntity(blaze);
-
-                UUID bid = blaze.getUuid();
-                blazeSet.add(bid);
-                BLAZE_TO_ARENA.put(bid, arenaId);
-                NO_DROP_BLAZES.add(bid); // tracked for drop suppression
-            }
-
-            buildStall(world, spot, center);
+        // 4) Blaze stalls
+        for (int[] b : BLAZE_SPOTS) {
+            t.set(b[0], 0, b[1], Blocks.NETHER_BRICKS.getDefaultState());
+            clear(t, b[0], 1, b[1], 3);
+            buildStall(t, b[0], 1, b[1]);
         }
+        return t.build();
     }
 
+    private static final BlockTemplate ARENA_TEMPLATE = compileArena();
+    private static final long[] BARRIER_OFFSETS = ARENA_TEMPLATE.offsetsOf(Blocks.BARRIER.getDefaultState());
+
     // ---------- Event Listener ----------
 
-    private static void registerListeners() {
-        if (LISTENER_REGISTERED) return;
-        LISTENER_REGISTERED = true;
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            onWorldTick(world);
+            if (world.getTime() % ArenaRegistry.SWEEP_PERIOD_TICKS == 0) {
+                ArenaRegistry registry = ArenaRegistry.find(world);
+                if (registry != null) registry.sweep(world);
+            }
+        });
+
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> unpark(world, chunk.getPos().toLong()));
 
         ServerLivingEntityEvents.AFTER_DEATH.register((LivingEntity entity, DamageSource source) -> {
             if (!(entity instanceof BlazeEntity blaze)) return;
 
-            UUID blazeId = blaze.getUuid();
-
-            // Disable loot + XP for our tracked blazes only
-            if (NO_DROP_BLAZES.remove(blazeId)) {
-                ServerWorld sw = (ServerWorld) blaze.getEntityWorld();
-                BlockPos pos = blaze.getBlockPos();
-                sw.getServer().execute(() -> {
-                    for (var it : sw.getEntitiesByClass(
-                            net.minecraft.entity.ItemEntity.class, new Box(pos).expand(2.0), e -> true)) {
-                        it.discard();
-                    }
-                });
-            }
-
-            // Check arena completion
-            UUID arenaId = BLAZE_TO_ARENA.remove(blazeId);
+            // loot + XP were already skipped in LivingEntityMixin while the attachment was set
+            UUID arenaId = blaze.removeAttached(ModAttachments.ARENA);
             if (arenaId == null) return;
 
-            Set<UUID> set = ARENA_TO_BLAZES.get(arenaId);
-            if (set == null) return;
-
-            set.remove(blazeId);
-            if (set.isEmpty()) {
-                ARENA_TO_BLAZES.remove(arenaId);
-
-                ServerWorld world = (ServerWorld) blaze.getEntityWorld();
-                BlockPos center = ARENA_CENTER.remove(arenaId);
-
-                // Clean up barriers before granting rewards
-                removeArenaBarriers(world, arenaId);
-
-                // Resolve owner (may be null/offline)
-                PlayerEntity owner = null;
-                UUID ownerUuid = ARENA_OWNER.remove(arenaId);
-                if (ownerUuid != null) {
-                    owner = world.getServer().getPlayerManager().getPlayer(ownerUuid);
-                }
-                if (owner == null && center != null) {
-                    owner = world.getClosestPlayer(center.getX() + 0.5, center.getY(), center.getZ() + 0.5, 64.0, false);
-                }
-                if (owner == null && !world.getPlayers().isEmpty()) {
-                    owner = world.getPlayers().get(0); // last fallback
-                }
-
-                // Call the required signature with a non-null player when possible
-                if (owner != null) {
-                    arenaFinished(world, center, owner);
-                } else {
-                    // If truly no player is available, still log and skip reward to avoid NPE
-                    world.getServer().sendMessage(Text.literal("[Arena] All blazes defeated (no player to reward)."));
-                }
+            blazeGone((ServerWorld) blaze.getEntityWorld(), arenaId, true);
+        });
+
+        // despawned or otherwise removed without dying: the arena can no longer be won
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            Entity.RemovalReason reason = entity.getRemovalReason();
+            if (reason == null || !reason.shouldDestroy()) return;
+            UUID arenaId = entity.removeAttached(ModAttachments.ARENA);
+            if (arenaId != null) blazeGone(world, arenaId, false);
+        });
+
+        // a blaze from an arena that was reclaimed while it was unloaded is just a blaze now
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            UUID arenaId = entity.getAttached(ModAttachments.ARENA);
+            if (arenaId != null && !ArenaRegistry.get(world).isActive(arenaId)) {
+                entity.removeAttached(ModAttachments.ARENA);
             }
         });
     }
 
-    // ---------- Helpers ----------
+    private static void blazeGone(ServerWorld world, UUID arenaId, boolean killed) {
+        ArenaRegistry registry = ArenaRegistry.get(world);
+        ArenaRegistry.Arena arena = registry.blazeGone(arenaId, killed, world.getTime());
+        if (arena == null) return;
+
+        BlockPos center = arena.center();
+
+        // Clean up barriers before granting rewards
+        registry.clearBarriers(world, arena);
+        if (!arena.defeated()) {
+            Diagnostics.emit(world, Diagnostics.Level.INFO, "arena", "Arena reclaimed: its blazes did not all die in it.");
+            return;
+        }
 
-    private static void clear(ServerWorld world, BlockPos pos, int height) {
-        for (int i = 0; i < height; i++) {
-            world.setBlockState(pos.up(i), Blocks.AIR.getDefaultState(), 3);
+        // Resolve owner (may be null/offline)
+        PlayerEntity owner = null;
+        UUID ownerUuid = arena.owner();
+        if (ownerUuid != null) {
+            owner = world.getServer().getPlayerManager().getPlayer(ownerUuid);
+        }
+        if (owner == null) {
+            owner = world.getClosestPlayer(center.getX() + 0.5, center.getY(), center.getZ() + 0.5, 64.0, false);
+        }
+        if (owner == null && !world.getPlayers().isEmpty()) {
+            owner = world.getPlayers().get(0); // last fallback
+        }
+
+        // Call the required signature with a non-null player when possible
+        if (owner != null) {
+            arenaFinished(world, center, owner);
+        } else {
+            // If truly no player is available, still log and skip reward to avoid NPE
+            Diagnostics.emit(world, Diagnostics.Level.INFO, "arena", "All blazes defeated (no player to reward).");
         }
     }
 
-    private static void spawn(ServerWorld world, BlockPos pos, EntityType<? extends LivingEntity> type) {
-        clear(world, pos, 2);
+    // ---------- Helpers ----------
+
+    private static void clear(BlockTemplate.Builder t, int dx, int dy, int dz, int height) {
+        t.column(dx, dy, dz, height, Blocks.AIR.getDefaultState());
+    }
+
+    private static boolean spawn(ServerWorld world, BlockPos pos, EntityType<? extends LivingEntity> type) {
         LivingEntity e = type.create(world, SpawnReason.EVENT);
-        if (e != null) {
-            e.refreshPositionAndAngles(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5, 0f, 0f);
-            world.spawnEntity(e);
-        }
+        if (e == null) return false;
+        e.refreshPositionAndAngles(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5, 0f, 0f);
+        return world.spawnEntity(e);
     }
 
-    private static void buildStall(ServerWorld world, BlockPos at, BlockPos center) {
-        int dxToCenter = Integer.compare(center.getX(), at.getX());
-        int dzToCenter = Integer.compare(center.getZ(), at.getZ());
+    private static void buildStall(BlockTemplate.Builder t, int x, int y, int z) {
+        // the arena center is the origin, so the open side is the one facing it
+        int dxToCenter = Integer.compare(0, x);
+        int dzToCenter = Integer.compare(0, z);
 
         boolean openEast  = dxToCenter > 0;
         boolean openWest  = dxToCenter < 0;
         boolean openSouth = dzToCenter > 0;
         boolean openNorth = dzToCenter < 0;
 
-        BlockPos north = at.north();
-        BlockPos south = at.south();
-        BlockPos east  = at.east();
-        BlockPos west  = at.west();
-
-        clear(world, at, 3);
-        clear(world, north, 3);
-        clear(world, south, 3);
-        clear(world, east,  3);
-        clear(world, west,  3);
-
-        world.setBlockState(at.up(2), Blocks.AIR.getDefaultState(), 3);
-
-        java.util.function.BiConsumer<BlockPos, Boolean> fenceTwoHigh = (pos, isOpen) -> {
-            world.setBlockState(pos.down(), Blocks.NETHER_BRICKS.getDefaultState(), 3);
-            if (!isOpen) {
-                world.setBlockState(pos, Blocks.NETHER_BRICK_WALL.getDefaultState(), 3);
-                world.setBlockState(pos.up(1), Blocks.NETHER_BRICK_WALL.getDefaultState(), 3);
-            } else {
-                world.setBlockState(pos, Blocks.AIR.getDefaultState(), 3);
-                world.setBlockState(pos.up(1), Blocks.AIR.getDefaultState(), 3);
-            }
-        };
-
-        java.util.function.BiConsumer<BlockPos, Boolean> ringTwoHigh = (outerPos, isOpenSide) -> {
-            if (isOpenSide) return;
-            world.setBlockState(outerPos, Blocks.NETHER_BRICKS.getDefaultState(), 3);
-            world.setBlockState(outerPos.up(1), Blocks.NETHER_BRICKS.getDefaultState(), 3);
-        };
-
-        BlockPos fenceN = north; BlockPos ringN = fenceN.north();
-        BlockPos fenceS = south; BlockPos ringS = fenceS.south();
-        BlockPos fenceE = east;  BlockPos ringE = fenceE.east();
-        BlockPos fenceW = west;  BlockPos ringW = fenceW.west();
+        clear(t, x, y, z, 3);
+        clear(t, x, y, z - 1, 3); // north
+        clear(t, x, y, z + 1, 3); // south
+        clear(t, x + 1, y, z, 3); // east
+        clear(t, x - 1, y, z, 3); // west
 
-        fenceTwoHigh.accept(fenceN, openNorth); ringTwoHigh.accept(ringN, openNorth);
-        fenceTwoHigh.accept(fenceS, openSouth); ringTwoHigh.accept(ringS, openSouth);
-        fenceTwoHigh.accept(fenceE, openEast);  ringTwoHigh.accept(ringE, openEast);
-        fenceTwoHigh.accept(fenceW, openWest);  ringTwoHigh.accept(ringW, openWest);
+        // fence two high on each side of the blaze, closed sides get a brick ring behind it
+        fenceTwoHigh(t, x, y, z - 1, openNorth); ringTwoHigh(t, x, y, z - 2, openNorth);
+        fenceTwoHigh(t, x, y, z + 1, openSouth); ringTwoHigh(t, x, y, z + 2, openSouth);
+        fenceTwoHigh(t, x + 1, y, z, openEast);  ringTwoHigh(t, x + 2, y, z, openEast);
+        fenceTwoHigh(t, x - 1, y, z, openWest);  ringTwoHigh(t, x - 2, y, z, openWest);
 
-        world.setBlockState(at.up(2), Blocks.NETHER_BRICK_SLAB.getDefaultState(), 3);
+        t.set(x, y + 2, z, Blocks.NETHER_BRICK_SLAB.getDefaultState());
     }
 
-    private static void removeArenaBarriers(ServerWorld world, UUID arenaId) {
-        Set<BlockPos> positions = ARENA_BARRIERS.remove(arenaId);
-        if (positions == null || positions.isEmpty()) return;
-        for (BlockPos pos : positions) {
-            if (world.getBlockState(pos).isOf(Blocks.BARRIER)) {
-                world.setBlockState(pos, Blocks.AIR.getDefaultState(), 3);
-            }
+    private static void fenceTwoHigh(BlockTemplate.Builder t, int x, int y, int z, boolean isOpen) {
+        t.set(x, y - 1, z, Blocks.NETHER_BRICKS.getDefaultState());
+        if (!isOpen) {
+            t.setConnecting(x, y, z, Blocks.NETHER_BRICK_WALL.getDefaultState());
+            t.setConnecting(x, y + 1, z, Blocks.NETHER_BRICK_WALL.getDefaultState());
+        } else {
+            clear(t, x, y, z, 2);
         }
     }
 
+    private static void ringTwoHigh(BlockTemplate.Builder t, int x, int y, int z, boolean isOpenSide) {
+        if (isOpenSide) return;
+        t.column(x, y, z, 2, Blocks.NETHER_BRICKS.getDefaultState());
+    }
+
     // ---------- Completion (requires PlayerEntity) ----------
 
     private static void arenaFinished(ServerWorld world, BlockPos center, PlayerEntity player) {
-        world.getServer().sendMessage(Text.literal("[Arena] All blazes defeated!"));
+        Diagnostics.emit(world, Diagnostics.Level.INFO, "arena", "All blazes defeated!");
         if (center != null) {
-            if (BasicUtils.hasEverEnteredNether((ServerPlayerEntity) player)) {
-                BasicUtils.broadcastMessage(player.getEntityWorld(), "has been to nether");
-            } else {
-                BasicUtils.broadcastMessage(player.getEntityWorld(), "has NOT YET been to nether");
+            if (Diagnostics.wants(Diagnostics.Level.DEBUG)) {
+                boolean nether = BasicUtils.hasEverEnteredNether((ServerPlayerEntity) player);
+                Diagnostics.emit(world, Diagnostics.Level.DEBUG, "arena",
+                        nether ? "has been to nether" : "has NOT YET been to nether");
             }
             RewardSpawnEvent.spawnReward(world, center, "minecraft:diamond", 25, 3);
         }
@@ -1,12 +1,11 @@
 package io.github.tristoris.duoyunblocks.events;
 
-import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntList;
-import net.minecraft.component.DataComponentTypes;
-import net.minecraft.component.type.FireworkExplosionComponent;
-import net.minecraft.component.type.FireworksComponent;
+import io.github.tristoris.duoyunblocks.metrics.DuoyunMetrics;
+import io.github.tristoris.duoyunblocks.network.FireworkShowPayload;
+import io.github.tristoris.duoyunblocks.network.FireworkShows;
+import io.github.tristoris.duoyunblocks.util.DuoyunRandom;
+import io.github.tristoris.duoyunblocks.util.FireworkVariants;
 import net.minecraft.entity.ItemEntity;
-import net.minecraft.entity.projectile.FireworkRocketEntity;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
@@ -14,18 +13,27 @@ import net.minecraft.registry.Registries;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
 import net.minecraft.world.Heightmap;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * RewardSpawnEvent
  *
  * Spawns one or many reward items randomly within a square area centered on a block,
  * with each item dropped exactly 7 blocks above that block's Y.
- * Spawns a firework rocket directly below each item at ground level (same X/Z).
+ * Spawns a firework rocket directly below each landing column at ground level (same X/Z).
+ *
+ * Rewards are batched: items that land in the same column share one merged stack and one
+ * rocket, each column's ground height is looked up once, and rockets pick from the fixed
+ * {@link FireworkVariants}. The rockets are cosmetic and go out through {@link FireworkShows},
+ * which lets modded clients simulate them instead of spawning entities.
  *
  * Two entry points:
  *  - spawnRewards(world, center, items, radius)
@@ -35,36 +43,58 @@ public final class RewardSpawnEvent {
 
     private RewardSpawnEvent() {}
 
-    private static final Random RNG = new Random();
+    private static final Map<String, Item> ITEMS_BY_ID = new ConcurrentHashMap<>();
+
 
     /**
      * Spawn a single reward by its item ID (e.g. "minecraft:diamond") and amount.
      * @param world  Server world
      * @param center Center block position (items fall from y+7; fireworks launch from ground under same x/z)
      * @param itemId Namespaced ID, e.g. "minecraft:diamond"
-     * @param amount Stack size (1..max stack size)
+     * @param amount Number of items, scattered one by one before being merged per column
      * @param radius Half-size of the square scatter range in blocks (random dx,dz in [-radius, +radius])
      */
     public static void spawnReward(ServerWorld world, BlockPos center, String itemId, int amount, int radius) {
-        Item item = Registries.ITEM.get(Identifier.of(itemId));
+        Item item = ITEMS_BY_ID.computeIfAbsent(itemId, id -> Registries.ITEM.get(Identifier.of(id)));
         if (item == Items.AIR) return; // invalid id
 
-        // 🔁 Scatter: split into singles (amount entities), each will get its own random dx/dz
-        int count = Math.max(1, amount);
-        java.util.ArrayList<ItemStack> stacks = new java.util.ArrayList<>(count);
-        for (int i = 0; i < count; i++) {
-            stacks.add(new ItemStack(item, 1));
+        spawnReward(world, center, item, amount, radius);
+    }
+
+    /**
+     * Same as {@link #spawnReward(ServerWorld, BlockPos, String, int, int)} for an already resolved item.
+     */
+    public static void spawnReward(ServerWorld world, BlockPos center, Item item, int amount, int radius) {
+        Objects.requireNonNull(world, "world");
+        Objects.requireNonNull(center, "center");
+
+        long start = System.nanoTime();
+        Random random = DuoyunRandom.next(world, DuoyunRandom.Stream.REWARD);
+
+        // 🔁 Scatter: every unit gets its own random dx/dz, then units are counted per column
+        int side = side(radius);
+        int[] counts = new int[side * side];
+        for (int i = Math.max(1, amount); i > 0; i--) {
+            counts[random.nextInt(counts.length)]++;
         }
 
-        spawnRewards(world, center, stacks, radius);
+        Batch batch = new Batch(world, center, radius, random);
+        for (int column = 0; column < counts.length; column++) {
+            int left = counts[column];
+            while (left > 0) {
+                int size = Math.min(left, item.getMaxCount());
+                batch.add(column, new ItemStack(item, size));
+                left -= size;
+            }
+        }
+        DuoyunMetrics.record(DuoyunMetrics.Stage.REWARD_SPAWN, start, batch.spawn(), 0);
     }
 
-
     /**
      * Spawn multiple reward stacks.
      * @param world  Server world
      * @param center Center block position (items fall from y+7; fireworks launch from ground under same x/z)
-     * @param items  List of ItemStacks to drop (each will be dropped separately)
+     * @param items  List of ItemStacks to drop (each gets its own column; stacks sharing a column are merged)
      * @param radius Half-size of the square scatter range in blocks (random dx,dz in [-radius, +radius])
      */
     public static void spawnRewards(ServerWorld world, BlockPos center, List<ItemStack> items, int radius) {
@@ -73,74 +103,103 @@ public final class RewardSpawnEvent {
         Objects.requireNonNull(items, "items");
 
         if (items.isEmpty()) return;
-        int yItem = center.getY() + 7;
 
+        long start = System.nanoTime();
+        Random random = DuoyunRandom.next(world, DuoyunRandom.Stream.REWARD);
+        int side = side(radius);
+        Batch batch = new Batch(world, center, radius, random);
         for (ItemStack original : items) {
             if (original == null || original.isEmpty()) continue;
-            ItemStack stack = original.copy();
-
-            // pick a random square offset in [-radius, +radius]
-            int dx = radius <= 0 ? 0 : (RNG.nextInt(radius * 2 + 1) - radius);
-            int dz = radius <= 0 ? 0 : (RNG.nextInt(radius * 2 + 1) - radius);
-
-            double x = center.getX() + 0.5 + dx;
-            double z = center.getZ() + 0.5 + dz;
-
-            // --- spawn the item 7 blocks above center Y ---
-            ItemEntity itemEnt = new ItemEntity(world, x, yItem, z, stack);
-            itemEnt.setVelocity(0.0, -0.35 - world.random.nextDouble() * 0.15, 0.0);
-            itemEnt.setToDefaultPickupDelay();
-            world.spawnEntity(itemEnt);
+            batch.add(random.nextInt(side * side), original.copy());
+        }
+        DuoyunMetrics.record(DuoyunMetrics.Stage.REWARD_SPAWN, start, batch.spawn(), 0);
+    }
 
-            // --- spawn a firework directly below at ground level under same x/z ---
-            int groundY = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, (int) Math.floor(x), (int) Math.floor(z));
-            double fy = groundY + 0.05; // just over the ground
-            boolean exploding = world.random.nextBoolean(); // mix: half exploding, half plain
+    private static int side(int radius) {
+        return radius <= 0 ? 1 : radius * 2 + 1;
+    }
 
-            ItemStack rocket = makeFireworkStack(world, exploding);
-            FireworkRocketEntity fw = new FireworkRocketEntity(world, x, fy, z, rocket);
-            world.spawnEntity(fw);
+    /** Stacks grouped by landing column, plus the lazily filled ground height of each column. */
+    private static final class Batch {
+        private final ServerWorld world;
+        private final BlockPos center;
+        private final int radius;
+        private final Random random;
+        private final int side;
+        private final List<ItemStack>[] columns;
+        private final int[] groundY;
+
+        @SuppressWarnings("unchecked")
+        private Batch(ServerWorld world, BlockPos center, int radius, Random random) {
+            this.world = world;
+            this.center = center;
+            this.radius = Math.max(0, radius);
+            this.random = random;
+            this.side = side(radius);
+            this.columns = new List[side * side];
+            this.groundY = new int[side * side];
+            Arrays.fill(groundY, Integer.MIN_VALUE);
         }
-    }
 
-    private static ItemStack makeFireworkStack(ServerWorld world, boolean exploding) {
-        ItemStack rocket = new ItemStack(Items.FIREWORK_ROCKET);
-
-        int flight = 1 + world.random.nextInt(3); // 1..3
-        List<FireworkExplosionComponent> explosions = List.of();
-
-        if (exploding) {
-            // 0..4: SMALL_BALL, LARGE_BALL, STAR, CREEPER, BURST
-            FireworkExplosionComponent.Type[] types = FireworkExplosionComponent.Type.values();
-            FireworkExplosionComponent.Type type = types[world.random.nextInt(types.length)];
-
-            int[] palette = new int[]{
-                    0xFFFFFF, 0xFF0000, 0x00FF00, 0x0000FF,
-                    0xFFFF00, 0xFF00FF, 0x00FFFF, 0xFFA500,
-                    0x800080, 0x00AEEF
-            };
-            int c1 = palette[world.random.nextInt(palette.length)];
-            int c2 = palette[world.random.nextInt(palette.length)];
-            IntList colors = world.random.nextBoolean()
-                    ? new IntArrayList(new int[]{c1})
-                    : new IntArrayList(new int[]{c1, c2});
-
-            IntList fades = IntList.of();
-            if (world.random.nextBoolean()) {
-                int fade = palette[world.random.nextInt(palette.length)];
-                fades = new IntArrayList(new int[]{fade});
+        private void add(int column, ItemStack stack) {
+            List<ItemStack> stacks = columns[column];
+            if (stacks == null) {
+                stacks = new ArrayList<>(1);
+                columns[column] = stacks;
             }
+            for (ItemStack existing : stacks) {
+                if (!ItemStack.areItemsAndComponentsEqual(existing, stack)) continue;
+                int move = Math.min(stack.getCount(), existing.getMaxCount() - existing.getCount());
+                existing.increment(move);
+                stack.decrement(move);
+                if (stack.isEmpty()) return;
+            }
+            stacks.add(stack);
+        }
 
-            boolean trail = world.random.nextBoolean();
-            boolean twinkle = world.random.nextBoolean(); // (aka "flicker")
+        private int groundY(int column, int bx, int bz) {
+            int y = groundY[column];
+            if (y == Integer.MIN_VALUE) {
+                y = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, bx, bz);
+                groundY[column] = y;
+            }
+            return y;
+        }
 
-            FireworkExplosionComponent explosion =
-                    new FireworkExplosionComponent(type, colors, fades, trail, twinkle);
+        /** Spawns the items and launches the rockets; returns the number of item entities. */
+        private int spawn() {
+            int yItem = center.getY() + 7;
+            int spawned = 0;
+            List<FireworkShowPayload.Rocket> rockets = new ArrayList<>();
+
+            for (int column = 0; column < columns.length; column++) {
+                List<ItemStack> stacks = columns[column];
+                if (stacks == null) continue;
+
+                int bx = center.getX() + column % side - radius;
+                int bz = center.getZ() + column / side - radius;
+                double x = bx + 0.5;
+                double z = bz + 0.5;
+
+                // --- spawn the items 7 blocks above center Y ---
+                for (ItemStack stack : stacks) {
+                    ItemEntity itemEnt = new ItemEntity(world, x, yItem, z, stack);
+                    itemEnt.setVelocity(0.0, -0.35 - random.nextDouble() * 0.15, 0.0);
+                    itemEnt.setToDefaultPickupDelay();
+                    world.spawnEntity(itemEnt);
+                    spawned++;
+                }
+
+                // --- one firework directly below at ground level under same x/z ---
+                double fy = groundY(column, bx, bz) + 0.05; // just over the ground
+                rockets.add(new FireworkShowPayload.Rocket(
+                        (float) (x - center.getX()), (float) fy, (float) (z - center.getZ()),
+                        random.nextInt(FireworkVariants.count()), 0));
+            }
 
-            explosions = List.of(explosion);
+            // drawn from the reward stream whether or not anyone is watching, so replays stay aligned
+            FireworkShows.launch(world, center, random.nextLong(), rockets);
+            return spawned;
         }
-
-        rocket.set(DataComponentTypes.FIREWORKS, new FireworksComponent(flight, explosions));
-        return rocket;
     }
 }
@@ -1,5 +1,6 @@
 package io.github.tristoris.duoyunblocks.items;
 
+import io.github.tristoris.duoyunblocks.components.DuoyunStats;
 import io.github.tristoris.duoyunblocks.components.ModDataComponents;
 import net.minecraft.block.Block;
 import net.minecraft.item.BlockItem;
@@ -7,6 +8,7 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
+import org.jetbrains.annotations.Nullable;
 
 
 public class DuoyunBlockItem extends BlockItem {
@@ -28,12 +30,34 @@ public class DuoyunBlockItem extends BlockItem {
         return stack;
     }
 
+    /**
+     * The stack's stats; null if it has none.
+     *
+     * Every Duoyun item carries a default STATS component, so a stack saved before STATS existed
+     * reads as the item's default. Its luck is in a LUCK patch instead, which is checked first (LUCK
+     * has no default, so it is only ever there on such a stack) and folded into the stats. The next
+     * write through {@link #setStats} moves it into STATS for good.
+     */
+    public static @Nullable DuoyunStats getStats(ItemStack stack) {
+        DuoyunStats stats = stack.get(ModDataComponents.STATS);
+        Integer legacy = stack.get(ModDataComponents.LUCK);
+        if (legacy == null) return stats;
+        return stats != null ? stats.withLuck(legacy) : DuoyunStats.ofLuck(legacy);
+    }
+
     public static int getLuck(ItemStack stack) {
-        return stack.getOrDefault(ModDataComponents.LUCK, 0);
+        DuoyunStats stats = getStats(stack);
+        return stats != null ? stats.luck() : 0;
     }
 
     public static void setLuck(ItemStack stack, int value) {
-        stack.set(ModDataComponents.LUCK, value);
+        DuoyunStats stats = getStats(stack);
+        setStats(stack, stats != null ? stats.withLuck(value) : DuoyunStats.ofLuck(value));
+    }
+
+    public static void setStats(ItemStack stack, DuoyunStats stats) {
+        stack.set(ModDataComponents.STATS, stats);
+        stack.remove(ModDataComponents.LUCK);
     }
 
     public static void increaseLuck(ItemStack stack, int amount) {
@@ -50,9 +74,9 @@ public class DuoyunBlockItem extends BlockItem {
                               net.minecraft.component.type.TooltipDisplayComponent displayComponent,
                               java.util.function.Consumer<Text> textConsumer,
                               net.minecraft.item.tooltip.TooltipType type) {
-        Integer luck = stack.getOrDefault(ModDataComponents.LUCK, null);
+        DuoyunStats stats = getStats(stack);
         // If missing, show the true default for THIS item (don’t just show 0)
-        int shown = (luck != null) ? luck : defaultLuck;
+        int shown = (stats != null) ? stats.luck() : defaultLuck;
         textConsumer.accept(Text.literal("Luck: " + shown).formatted(Formatting.GOLD));
         super.appendTooltip(stack, context, displayComponent, textConsumer, type);
     }
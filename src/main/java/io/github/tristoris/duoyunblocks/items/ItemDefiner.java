@@ -2,6 +2,7 @@ package io.github.tristoris.duoyunblocks.items;
 
 import io.github.tristoris.duoyunblocks.DuoyunBlocks;
 import io.github.tristoris.duoyunblocks.blocks.BlockDefiner;
+import io.github.tristoris.duoyunblocks.components.DuoyunStats;
 import io.github.tristoris.duoyunblocks.components.ModDataComponents; // <-- import this
 import net.minecraft.item.Item;
 import net.minecraft.item.Items;
@@ -16,21 +17,21 @@ public final class ItemDefiner {
             register(
                     "duoyun_block_item_negative",
                     settings -> new DuoyunBlockItem(BlockDefiner.DUOYUN_BLOCK, settings, -100),
-                    new Item.Settings().component(ModDataComponents.LUCK, -100) // default component
+                    new Item.Settings().component(ModDataComponents.STATS, DuoyunStats.ofLuck(-100)) // default component
             );
 
     public static final Item DUOYUN_BLOCK_ITEM =
             register(
                     "duoyun_block_item",
                     settings -> new DuoyunBlockItem(BlockDefiner.DUOYUN_BLOCK, settings, 0),
-                    new Item.Settings().component(ModDataComponents.LUCK, 0) // default component
+                    new Item.Settings().component(ModDataComponents.STATS, DuoyunStats.ofLuck(0)) // default component
             );
 
     public static final Item DUOYUN_BLOCK_ITEM_GOOD_LUCK =
             register(
                     "duoyun_block_item_positive",
                     settings -> new DuoyunBlockItem(BlockDefiner.DUOYUN_BLOCK, settings, 100),
-                    new Item.Settings().component(ModDataComponents.LUCK, 100) // default component
+                    new Item.Settings().component(ModDataComponents.STATS, DuoyunStats.ofLuck(100)) // default component
             );
 
     private static Item register(String path, Function<Item.Settings, Item> factory, Item.Settings settings) {
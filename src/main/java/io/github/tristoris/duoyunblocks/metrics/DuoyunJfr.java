@@ -0,0 +1,73 @@
+package io.github.tristoris.duoyunblocks.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events for the Duoyun hot paths, committed by {@link DuoyunMetrics}.
+ *
+ * The work is timed with {@link System#nanoTime()} and the event committed afterwards, so the
+ * time spent is in {@code elapsed} rather than the event's own duration. Enabled with the rest
+ * of a recording, e.g. {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start}.
+ */
+public final class DuoyunJfr {
+
+    @Category({"Duoyun Blocks"})
+    @StackTrace(false)
+    public abstract static class StageEvent extends Event {
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        public long elapsed;
+
+        @Label("Entities Spawned")
+        public int entities;
+
+        @Label("Block Writes")
+        public int blockWrites;
+    }
+
+    @Name("duoyunblocks.Roll")
+    @Label("Duoyun Roll")
+    @Description("A Duoyun block broken by a player and its outcome applied")
+    public static final class Roll extends StageEvent {
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("duoyunblocks.SprayBurst")
+    @Label("Duoyun Spray Burst")
+    public static final class SprayBurst extends StageEvent {}
+
+    @Name("duoyunblocks.ArenaBuild")
+    @Label("Duoyun Arena Build Step")
+    @Description("One tick of Blaze arena construction, shared by every queued arena of a world")
+    public static final class ArenaBuild extends StageEvent {}
+
+    @Name("duoyunblocks.RewardSpawn")
+    @Label("Duoyun Reward Spawn")
+    public static final class RewardSpawn extends StageEvent {}
+
+    @Name("duoyunblocks.TaskDrain")
+    @Label("Duoyun Task Drain")
+    @Description("The due slot of a world's tick task wheel being run")
+    public static final class TaskDrain extends StageEvent {
+        @Label("Tasks Run")
+        public int tasks;
+    }
+
+    @Name("duoyunblocks.GlowFlips")
+    @Label("Duoyun Glow Flips")
+    public static final class GlowFlips extends StageEvent {}
+
+    @Name("duoyunblocks.BreakBatch")
+    @Label("Duoyun Break Batch")
+    @Description("Several Duoyun blocks destroyed in one tick, their outcomes applied together")
+    public static final class BreakBatch extends StageEvent {}
+
+    private DuoyunJfr() {}
+}
@@ -0,0 +1,174 @@
+package io.github.tristoris.duoyunblocks.metrics;
+
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import jdk.jfr.EventType;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process counters and latency histograms for the Duoyun hot paths, shown by /duoyun stats.
+ *
+ * Callers take {@code long start = System.nanoTime()} before the work and hand it to one of the
+ * {@code record} methods afterwards, together with what the work produced. Every record also goes
+ * out as a {@link DuoyunJfr} event when a flight recording is running. Everything here is lock-free,
+ * so reading from a command never stalls the tick.
+ *
+ * Stages can nest (a spray burst runs inside a task drain), so their times are not additive.
+ *
+ * Recording allocates nothing: event objects are only created while their JFR event type is enabled.
+ */
+public final class DuoyunMetrics {
+
+    public enum Stage {
+        ROLL("roll", DuoyunJfr.Roll.class),
+        SPRAY_BURST("spray burst", DuoyunJfr.SprayBurst.class),
+        ARENA_BUILD("arena build", DuoyunJfr.ArenaBuild.class),
+        REWARD_SPAWN("reward spawn", DuoyunJfr.RewardSpawn.class),
+        TASK_DRAIN("task drain", DuoyunJfr.TaskDrain.class),
+        GLOW_FLIPS("glow flips", DuoyunJfr.GlowFlips.class),
+        BREAK_BATCH("break batch", DuoyunJfr.BreakBatch.class);
+
+        private final String label;
+        private final EventType jfr;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder entities = new LongAdder();
+        private final LongAdder blockWrites = new LongAdder();
+
+        Stage(String label, Class<? extends DuoyunJfr.StageEvent> event) {
+            this.label = label;
+            this.jfr = EventType.getEventType(event);
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long entities() {
+            return entities.sum();
+        }
+
+        public long blockWrites() {
+            return blockWrites.sum();
+        }
+
+        /** Nanoseconds at quantile {@code q}. */
+        public long percentile(double q) {
+            return latency.percentile(q);
+        }
+
+        private void add(long elapsed, int spawned, int writes) {
+            latency.record(elapsed);
+            count.increment();
+            if (spawned > 0) entities.add(spawned);
+            if (writes > 0) blockWrites.add(writes);
+        }
+
+        private void reset() {
+            latency.reset();
+            count.reset();
+            entities.reset();
+            blockWrites.reset();
+        }
+    }
+
+    private static final int WINDOW_SECONDS = 60;
+    // entities spawned per wall-clock second, a slot is reused once its second is a minute old
+    private static final AtomicLongArray SPAWN_COUNTS = new AtomicLongArray(WINDOW_SECONDS);
+    private static final AtomicLongArray SPAWN_SECONDS = new AtomicLongArray(WINDOW_SECONDS);
+
+    private static final LongAdder[] OUTCOMES = new LongAdder[DuoyunOutcome.values().length];
+
+    static {
+        for (int i = 0; i < OUTCOMES.length; i++) OUTCOMES[i] = new LongAdder();
+    }
+
+    /** A roll started at {@code start}, with the entities it spawned straight away. */
+    public static void recordRoll(long start, DuoyunOutcome outcome, int entities) {
+        long elapsed = System.nanoTime() - start;
+        Stage.ROLL.add(elapsed, entities, 0);
+        OUTCOMES[outcome.ordinal()].increment();
+        countEntities(entities);
+
+        if (!Stage.ROLL.jfr.isEnabled()) return;
+        DuoyunJfr.Roll event = new DuoyunJfr.Roll();
+        if (event.shouldCommit()) {
+            event.outcome = outcome.id();
+            commit(event, elapsed, entities, 0);
+        }
+    }
+
+    /** A drain of the task wheel started at {@code start} that ran {@code tasks} tasks. */
+    public static void recordTaskDrain(long start, int tasks) {
+        long elapsed = System.nanoTime() - start;
+        Stage.TASK_DRAIN.add(elapsed, 0, 0); // the tasks count their own entities
+
+        if (!Stage.TASK_DRAIN.jfr.isEnabled()) return;
+        DuoyunJfr.TaskDrain event = new DuoyunJfr.TaskDrain();
+        if (event.shouldCommit()) {
+            event.tasks = tasks;
+            commit(event, elapsed, 0, 0);
+        }
+    }
+
+    /** Any other stage, started at {@code start}. */
+    public static void record(Stage stage, long start, int entities, int blockWrites) {
+        long elapsed = System.nanoTime() - start;
+        stage.add(elapsed, entities, blockWrites);
+        countEntities(entities);
+
+        if (!stage.jfr.isEnabled()) return;
+        DuoyunJfr.StageEvent event = switch (stage) {
+            case SPRAY_BURST -> new DuoyunJfr.SprayBurst();
+            case ARENA_BUILD -> new DuoyunJfr.ArenaBuild();
+            case REWARD_SPAWN -> new DuoyunJfr.RewardSpawn();
+            case GLOW_FLIPS -> new DuoyunJfr.GlowFlips();
+            case BREAK_BATCH -> new DuoyunJfr.BreakBatch();
+            case ROLL, TASK_DRAIN -> throw new IllegalArgumentException("use the dedicated record method for " + stage);
+        };
+        if (event.shouldCommit()) commit(event, elapsed, entities, blockWrites);
+    }
+
+    private static void commit(DuoyunJfr.StageEvent event, long elapsed, int entities, int blockWrites) {
+        event.elapsed = elapsed;
+        event.entities = entities;
+        event.blockWrites = blockWrites;
+        event.commit();
+    }
+
+    private static void countEntities(int entities) {
+        if (entities <= 0) return;
+        long second = System.nanoTime() / 1_000_000_000L;
+        int slot = (int) Math.floorMod(second, WINDOW_SECONDS);
+        long stamp = SPAWN_SECONDS.get(slot);
+        if (stamp != second && SPAWN_SECONDS.compareAndSet(slot, stamp, second)) SPAWN_COUNTS.set(slot, 0);
+        SPAWN_COUNTS.addAndGet(slot, entities);
+    }
+
+    /** Entities spawned by Duoyun work over the last minute. */
+    public static long entitiesLastMinute() {
+        long now = System.nanoTime() / 1_000_000_000L;
+        long total = 0;
+        for (int slot = 0; slot < WINDOW_SECONDS; slot++) {
+            if (now - SPAWN_SECONDS.get(slot) < WINDOW_SECONDS) total += SPAWN_COUNTS.get(slot);
+        }
+        return total;
+    }
+
+    public static long outcomes(DuoyunOutcome outcome) {
+        return OUTCOMES[outcome.ordinal()].sum();
+    }
+
+    public static void reset() {
+        for (Stage stage : Stage.values()) stage.reset();
+        for (LongAdder outcome : OUTCOMES) outcome.reset();
+        for (int slot = 0; slot < WINDOW_SECONDS; slot++) SPAWN_COUNTS.set(slot, 0);
+    }
+
+    private DuoyunMetrics() {}
+}
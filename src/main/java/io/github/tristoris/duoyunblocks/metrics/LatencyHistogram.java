@@ -0,0 +1,67 @@
+package io.github.tristoris.duoyunblocks.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of nanosecond durations, in the spirit of HdrHistogram.
+ *
+ * Each power of two is split into {@link #SUB_BUCKETS} linear buckets, so any recorded value is
+ * known to within about 6%, across the whole range up to {@link #MAX_VALUE} (longer values are
+ * clamped into the top bucket). Recording is one array increment; reading walks ~600 buckets.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    /** Largest value told apart from the ones above it, about 18 minutes. */
+    public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long nanos) {
+        counts.incrementAndGet(index(Math.min(Math.max(nanos, 0L), MAX_VALUE)));
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += counts.get(i);
+        return total;
+    }
+
+    /**
+     * The value at quantile {@code q} in [0, 1], reported as the upper edge of its bucket;
+     * 0 when nothing has been recorded.
+     */
+    public long percentile(double q) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += snapshot[i] = counts.get(i);
+        if (total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return upperEdge(i);
+        }
+        return upperEdge(BUCKETS - 1);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long upperEdge(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index >> SUB_BITS) - 1;
+        long mantissa = index & (SUB_BUCKETS - 1);
+        return ((SUB_BUCKETS + mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,301 @@
+package io.github.tristoris.duoyunblocks.metrics;
+
+import io.github.tristoris.duoyunblocks.audit.RollAudit;
+import io.github.tristoris.duoyunblocks.blocks.BlockDefiner;
+import io.github.tristoris.duoyunblocks.blocks.DuoyunBatch;
+import io.github.tristoris.duoyunblocks.blocks.DuoyunBlock;
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import io.github.tristoris.duoyunblocks.events.BlazeArenaEvent;
+import io.github.tristoris.duoyunblocks.events.RewardSpawnEvent;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeLoot;
+import io.github.tristoris.duoyunblocks.outcome.OutcomeTables;
+import io.github.tristoris.duoyunblocks.util.DuoyunGameRules;
+import io.github.tristoris.duoyunblocks.util.DuoyunRandom;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Load scenarios for the Duoyun hot paths, each checked against fixed upper bounds.
+ *
+ *  - breaks: that many blocks broken in one tick at a fixed luck, rolled from seeds seed, seed+1, ...
+ *    and coalesced at the end of the tick like any other mass destruction
+ *  - arenas: that many Blaze arenas queued at once
+ *  - rewards: that many 25-diamond reward showers in one tick
+ *  - allocation: that many break decisions (seed, roll, audit, metrics) without spawning anything,
+ *    measured for heap allocation on the server thread
+ *
+ * After a scenario the server keeps ticking until its deferred work (spray bursts, arena builds)
+ * has settled; then the slowest tick, the entities spawned and the blocks written (from
+ * {@link DuoyunMetrics}) are compared with the bounds and the {@link Result} handed to the caller.
+ * One scenario runs at a time, since the counters are shared. The GameTest suite asserts on these
+ * results; /duoyun stress runs the same scenarios by hand.
+ *
+ * The tick budget is the one bound measured in wall-clock time. It is a whole 20 TPS tick (50ms) for
+ * the server thread, everything else in the test world included, so only a scenario that would make
+ * a real server lag fails it; slower machines (e.g. shared CI runners) can raise it with the
+ * {@code duoyun.stress.tickBudgetMs} system property.
+ */
+public final class StressScenarios {
+    public static final long TICK_BUDGET_NANOS = Long.getLong("duoyun.stress.tickBudgetMs", 50) * 1_000_000L;
+    public static final double ALLOC_BYTES_PER_ROLL = 16.0;    // slack for the odd lazily grown buffer
+    private static final int GRID = 16;     // breaks and arenas are laid out on a GRID-wide grid
+    private static final int BREAK_SPACING = 3;
+    private static final int ARENA_SPACING = 16;
+    private static final int REWARD_ITEMS = 25;
+    private static final int ALLOC_WARMUP = 20_000;
+    private static final int MAX_PIGLINS = 13;     // most one piglin roll spawns
+    private static final int MAX_STACK_SIZE = 64;  // every spray and loot item stacks to 64
+
+    /** What a scenario did, next to what it was allowed to do. */
+    public record Result(String name, long worstTickNanos, long entities, long entityBound,
+                         long blockWrites, long writeBound) {
+        public boolean passed() {
+            return worstTickNanos <= TICK_BUDGET_NANOS && entities <= entityBound && blockWrites <= writeBound;
+        }
+
+        public String report() {
+            return String.format(Locale.ROOT,
+                    "Stress %s %s: worst tick %.2fms (<= %dms), entities %d (<= %d), block writes %d (<= %d)",
+                    name, passed() ? "PASS" : "FAIL", worstTickNanos / 1_000_000.0, TICK_BUDGET_NANOS / 1_000_000,
+                    entities, entityBound, blockWrites, writeBound);
+        }
+    }
+
+    /** Heap allocated by {@link #allocation} on the server thread. */
+    public record Allocation(int rolls, long bytes) {
+        public double bytesPerRoll() {
+            return (double) bytes / rolls;
+        }
+
+        public boolean passed() {
+            return bytesPerRoll() <= ALLOC_BYTES_PER_ROLL;
+        }
+
+        public String report() {
+            return String.format(Locale.ROOT, "Stress alloc x%d %s: %d bytes allocated, %.2f per roll (<= %.0f)",
+                    rolls, passed() ? "PASS" : "FAIL", bytes, bytesPerRoll(), ALLOC_BYTES_PER_ROLL);
+        }
+    }
+
+    /** A scenario that is still settling. */
+    public static final class Run {
+        private final String name;
+        private final int settleTicks;
+        private final long entityBound;
+        private final long writeBound;
+        private final Consumer<Result> onFinish;
+        private final long entitiesBefore = entities();
+        private final long writesBefore = blockWrites();
+        private int ticksLeft;
+        private long tickStart;
+        private long worstTick;
+
+        private Run(String name, int settleTicks, long entityBound, long writeBound, Consumer<Result> onFinish) {
+            this.name = name;
+            this.settleTicks = settleTicks;
+            this.ticksLeft = settleTicks;
+            this.entityBound = entityBound;
+            this.writeBound = writeBound;
+            this.onFinish = onFinish;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /** Ticks after the one it started in until the result is handed over. */
+        public int settleTicks() {
+            return settleTicks;
+        }
+    }
+
+    private static Run active;
+
+    public static void init() {
+        ServerTickEvents.START_SERVER_TICK.register(server -> {
+            if (active != null) active.tickStart = System.nanoTime();
+        });
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            Run run = active;
+            if (run == null || run.tickStart == 0) return;
+            run.worstTick = Math.max(run.worstTick, System.nanoTime() - run.tickStart);
+            if (--run.ticksLeft <= 0) finish(run);
+        });
+    }
+
+    /** The scenario still settling, if any; no other may start until it is done. */
+    public static @Nullable Run active() {
+        return active;
+    }
+
+    /**
+     * Breaks {@code count} blocks in one tick. The rolls are seeded, so the bounds come from the outcomes
+     * those seeds give (see {@link #expectBreaks}) rather than from what any roll could do.
+     */
+    public static Run breaks(ServerWorld world, BlockPos origin, int count, int luck, long seed, Consumer<Result> onFinish) {
+        DuoyunBlock block = (DuoyunBlock) BlockDefiner.DUOYUN_BLOCK;
+        BlockPos[] positions = new BlockPos[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = origin.add((i % GRID) * BREAK_SPACING, 0, (i / GRID) * BREAK_SPACING);
+        }
+        Expected expected = expectBreaks(world, positions, luck, seed);
+
+        // leave time for the arena builds and the last spray bursts
+        Run run = start("breaks x" + count + " at luck " + luck, 200 + count,
+                expected.entities, expected.blockWrites, onFinish);
+
+        for (int i = 0; i < count; i++) {
+            DuoyunRandom.replay(world, DuoyunRandom.Stream.BREAK, seed + i);
+        }
+        for (BlockPos pos : positions) {
+            DuoyunBatch.add(block, world, pos, null, luck, 0.0);
+        }
+        return run;
+    }
+
+    private record Expected(long entities, long blockWrites) {}
+
+    /**
+     * Upper bounds for breaking the blocks at {@code positions} with the rolls seeded from seed, seed+1, ...:
+     * the same rolls are drawn up front, then capped the way {@link DuoyunBatch} caps a tick's destructions
+     * (one arena and one iron strike per area, the hostile cap, one summed spray, merged loot).
+     * A single break skips those caps, as {@link DuoyunBatch} hands it to the block. Only what the
+     * bounds cannot see without spawning (piglin counts, how the spray and loot split into stacks)
+     * is taken at its largest.
+     */
+    private static Expected expectBreaks(ServerWorld world, BlockPos[] positions, int luck, long seed) {
+        boolean batched = positions.length > 1;
+        LongOpenHashSet arenaAreas = new LongOpenHashSet();
+        LongOpenHashSet ironAreas = new LongOpenHashSet();
+        Item[] items = new Item[OutcomeLoot.NUGGET_SPRAY_STACKS];
+        int[] counts = new int[OutcomeLoot.NUGGET_SPRAY_STACKS];
+        long sprayUnits = 0;
+        int piglinRolls = 0;
+        long lootStacks = 0;
+        for (int i = 0; i < positions.length; i++) {
+            Random rand = DuoyunRandom.fork(world, DuoyunRandom.Stream.BREAK, seed + i);
+            long area = DuoyunBatch.area(positions[i]);
+            switch (OutcomeTables.roll(luck, 0.0, rand)) {
+                case NUGGET_SPRAY -> {
+                    OutcomeLoot.nuggetSpray(rand, items, counts);
+                    for (int count : counts) sprayUnits += count;
+                }
+                case DIAMOND -> lootStacks++;
+                case BLAZE_ARENA -> {
+                    if (!arenaAreas.add(area) && batched) lootStacks++;
+                }
+                case FALLING_IRON -> {
+                    if (!ironAreas.add(area) && batched) lootStacks++;
+                }
+                case ZOMBIE_PIGLINS -> {
+                    piglinRolls++;
+                    if (batched) lootStacks += 2; // the item equivalent, should the cap run out
+                }
+                case CALAMITY, BAD_LUCK, BIG_PRIZE -> {}
+            }
+        }
+
+        int sprayCap = world.getGameRules().getInt(DuoyunGameRules.SPRAY_ENTITY_CAP);
+        long piglins = (long) piglinRolls * MAX_PIGLINS;
+        if (batched) piglins = Math.min(piglins, world.getGameRules().getInt(DuoyunGameRules.BATCH_HOSTILE_CAP));
+        long spray = sprayUnits == 0 ? 0
+                : Math.min(sprayCap, sprayUnits) + sprayUnits / MAX_STACK_SIZE + OutcomeLoot.NUGGET_SPRAY_STACKS;
+
+        long entities = (long) arenaAreas.size() * BlazeArenaEvent.entitiesPerArena() + ironAreas.size()
+                + piglins + spray + lootStacks; // one falling block per strike
+        return new Expected(entities, (long) arenaAreas.size() * BlazeArenaEvent.maxBlockWrites());
+    }
+
+    public static Run arenas(ServerWorld world, BlockPos origin, int count, Consumer<Result> onFinish) {
+        int ticksPerArena = Math.max(1, BlazeArenaEvent.buildEntries()
+                / Math.max(1, world.getGameRules().getInt(DuoyunGameRules.ARENA_BLOCKS_PER_TICK)) + 1);
+        Run run = start("arenas x" + count, 20 + count * ticksPerArena,
+                (long) count * BlazeArenaEvent.entitiesPerArena(),
+                (long) count * BlazeArenaEvent.maxBlockWrites(), onFinish);
+
+        for (int i = 0; i < count; i++) {
+            BlazeArenaEvent.spawnArena(world, origin.add((i % GRID) * ARENA_SPACING, 0, (i / GRID) * ARENA_SPACING));
+        }
+        return run;
+    }
+
+    public static Run rewards(ServerWorld world, BlockPos origin, int count, Consumer<Result> onFinish) {
+        Run run = start("rewards x" + count, 20, (long) count * REWARD_ITEMS, 0, onFinish);
+        for (int i = 0; i < count; i++) {
+            RewardSpawnEvent.spawnReward(world, origin, Items.DIAMOND, REWARD_ITEMS, 3);
+        }
+        return run;
+    }
+
+    /**
+     * Runs {@code count} break decisions after a warm-up and measures what they allocated on this thread;
+     * null if the JVM cannot measure per-thread allocation.
+     */
+    public static @Nullable Allocation allocation(ServerWorld world, BlockPos origin, int count) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        BlockPos.Mutable pos = origin.mutableCopy();
+
+        // warm up first, so per-world state and JIT-compiled code are already in place
+        decide(world, pos, ALLOC_WARMUP);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        decide(world, pos, count);
+        return new Allocation(count, threads.getCurrentThreadAllocatedBytes() - before);
+    }
+
+    /** The decision half of a break, as {@link DuoyunBlock#rollAt} runs it before spawning anything. */
+    private static void decide(ServerWorld world, BlockPos.Mutable pos, int count) {
+        int x = pos.getX();
+        int z = pos.getZ();
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            pos.set(x + i % GRID, pos.getY(), z + i / GRID % GRID);
+            Random rand = DuoyunRandom.next(world, DuoyunRandom.Stream.BREAK);
+            DuoyunOutcome outcome = OutcomeTables.roll(world, pos, null, RollAudit.Source.BREAK, i % 21 - 10, 0.0, rand);
+            DuoyunMetrics.recordRoll(start, outcome, 0);
+        }
+    }
+
+    private static Run start(String name, int settleTicks, long entityBound, long writeBound, Consumer<Result> onFinish) {
+        if (active != null) throw new IllegalStateException("A stress run (" + active.name + ") is still going");
+        Run run = new Run(name, settleTicks, entityBound, writeBound, onFinish);
+        // the scenario itself runs inside the current tick, which is the one that counts most
+        run.tickStart = System.nanoTime();
+        active = run;
+        return run;
+    }
+
+    private static void finish(Run run) {
+        active = null;
+        run.onFinish.accept(new Result(run.name, run.worstTick,
+                entities() - run.entitiesBefore, run.entityBound,
+                blockWrites() - run.writesBefore, run.writeBound));
+    }
+
+    private static long entities() {
+        long total = 0;
+        for (DuoyunMetrics.Stage stage : DuoyunMetrics.Stage.values()) total += stage.entities();
+        return total;
+    }
+
+    private static long blockWrites() {
+        long total = 0;
+        for (DuoyunMetrics.Stage stage : DuoyunMetrics.Stage.values()) total += stage.blockWrites();
+        return total;
+    }
+
+    private StressScenarios() {}
+}
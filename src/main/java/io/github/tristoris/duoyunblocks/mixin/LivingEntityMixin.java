@@ -0,0 +1,19 @@
+package io.github.tristoris.duoyunblocks.mixin;
+
+import io.github.tristoris.duoyunblocks.components.ModAttachments;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.server.world.ServerWorld;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(LivingEntity.class)
+public abstract class LivingEntityMixin {
+    // arena blazes never roll their loot table or drop XP
+    @Inject(method = "drop", at = @At("HEAD"), cancellable = true)
+    private void duoyunblocks$skipArenaDrops(ServerWorld world, DamageSource damageSource, CallbackInfo ci) {
+        if (((LivingEntity) (Object) this).hasAttached(ModAttachments.ARENA)) ci.cancel();
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.tristoris.duoyunblocks.network;
+
+import io.github.tristoris.duoyunblocks.DuoyunBlocks;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.List;
+
+/**
+ * A whole reward firework show in one packet: rockets relative to {@code origin}, each with the
+ * index of its {@link io.github.tristoris.duoyunblocks.util.FireworkVariants FireworkVariants}
+ * entry and a launch delay in ticks. Rocket {@code i} simulates with seed {@code seed + i}.
+ */
+public record FireworkShowPayload(BlockPos origin, long seed, List<Rocket> rockets) implements CustomPayload {
+    public static final CustomPayload.Id<FireworkShowPayload> ID =
+            new CustomPayload.Id<>(Identifier.of(DuoyunBlocks.MOD_ID, "firework_show"));
+
+    public record Rocket(float dx, float y, float dz, int variant, int delay) {
+        public static final PacketCodec<RegistryByteBuf, Rocket> CODEC = PacketCodec.tuple(
+                PacketCodecs.FLOAT, Rocket::dx,
+                PacketCodecs.FLOAT, Rocket::y,
+                PacketCodecs.FLOAT, Rocket::dz,
+                PacketCodecs.VAR_INT, Rocket::variant,
+                PacketCodecs.VAR_INT, Rocket::delay,
+                Rocket::new
+        );
+    }
+
+    public static final PacketCodec<RegistryByteBuf, FireworkShowPayload> CODEC = PacketCodec.tuple(
+            BlockPos.PACKET_CODEC, FireworkShowPayload::origin,
+            PacketCodecs.VAR_LONG, FireworkShowPayload::seed,
+            Rocket.CODEC.collect(PacketCodecs.toList()), FireworkShowPayload::rockets,
+            FireworkShowPayload::new
+    );
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.tristoris.duoyunblocks.network;
+
+import io.github.tristoris.duoyunblocks.util.FireworkVariants;
+import io.github.tristoris.duoyunblocks.util.TickTasks;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.entity.projectile.FireworkRocketEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.List;
+
+/**
+ * Launches cosmetic reward fireworks.
+ *
+ * If every player in view runs this mod, the show goes out as one {@link FireworkShowPayload}
+ * and the clients fly the rockets themselves; otherwise real rocket entities are spawned so
+ * vanilla clients still see them. With nobody in view nothing is launched at all.
+ *
+ * The show seed comes from the caller's {@link io.github.tristoris.duoyunblocks.util.DuoyunRandom}
+ * reward roll, so a replayed reward flies the same show and vanilla world randomness is left alone.
+ */
+public final class FireworkShows {
+    private static final double VIEW_DISTANCE = 96.0; // a bit over the rocket's entity tracking range
+
+    public static void launch(ServerWorld world, BlockPos origin, long seed, List<FireworkShowPayload.Rocket> rockets) {
+        if (rockets.isEmpty()) return;
+
+        double cx = origin.getX() + 0.5;
+        double cy = origin.getY();
+        double cz = origin.getZ() + 0.5;
+        List<ServerPlayerEntity> viewers =
+                world.getPlayers(p -> p.squaredDistanceTo(cx, cy, cz) < VIEW_DISTANCE * VIEW_DISTANCE);
+        if (viewers.isEmpty()) return;
+
+        for (ServerPlayerEntity viewer : viewers) {
+            if (!ServerPlayNetworking.canSend(viewer, FireworkShowPayload.ID)) {
+                spawnEntities(world, origin, rockets);
+                return;
+            }
+        }
+
+        FireworkShowPayload payload = new FireworkShowPayload(origin, seed, rockets);
+        for (ServerPlayerEntity viewer : viewers) {
+            ServerPlayNetworking.send(viewer, payload);
+        }
+    }
+
+    private static void spawnEntities(ServerWorld world, BlockPos origin, List<FireworkShowPayload.Rocket> rockets) {
+        for (FireworkShowPayload.Rocket rocket : rockets) {
+            double x = origin.getX() + rocket.dx();
+            double z = origin.getZ() + rocket.dz();
+            Runnable launch = () -> {
+                ItemStack stack = new ItemStack(Items.FIREWORK_ROCKET);
+                stack.set(DataComponentTypes.FIREWORKS, FireworkVariants.get(rocket.variant()));
+                world.spawnEntity(new FireworkRocketEntity(world, x, rocket.y(), z, stack));
+            };
+            if (rocket.delay() > 0) TickTasks.in(world, rocket.delay(), launch);
+            else launch.run();
+        }
+    }
+
+    private FireworkShows() {}
+}
@@ -0,0 +1,11 @@
+package io.github.tristoris.duoyunblocks.network;
+
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+
+public final class ModNetworking {
+    public static void init() {
+        PayloadTypeRegistry.playS2C().register(FireworkShowPayload.ID, FireworkShowPayload.CODEC);
+    }
+
+    private ModNetworking() {}
+}
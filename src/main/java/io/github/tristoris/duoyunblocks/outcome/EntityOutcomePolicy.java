@@ -0,0 +1,12 @@
+package io.github.tristoris.duoyunblocks.outcome;
+
+/**
+ * What a Duoyun Opener does with outcomes that only exist as entities or effects in the world
+ * (piglins, the blaze arena, calamities, bad luck).
+ */
+public enum EntityOutcomePolicy {
+    /** The roll is used up and produces nothing. */
+    SKIP,
+    /** The roll produces roughly what the entities would have dropped. */
+    ITEM_EQUIVALENT
+}
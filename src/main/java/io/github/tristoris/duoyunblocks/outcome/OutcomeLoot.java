@@ -0,0 +1,105 @@
+package io.github.tristoris.duoyunblocks.outcome;
+
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.random.Random;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The items an outcome is worth, shared by breaking a Duoyun block and by the Duoyun Opener.
+ */
+public final class OutcomeLoot {
+
+    /** Stacks in a {@link #nuggetSpray(Random, Item[], int[])} payload. */
+    public static final int NUGGET_SPRAY_STACKS = 6;
+
+    /** The nugget spray: nuggets first, then ingots, each group in random order. */
+    public static List<ItemStack> nuggetSpray(Random rand) {
+        Item[] items = new Item[NUGGET_SPRAY_STACKS];
+        int[] counts = new int[NUGGET_SPRAY_STACKS];
+        nuggetSpray(rand, items, counts);
+
+        List<ItemStack> drops = new ArrayList<>(NUGGET_SPRAY_STACKS);
+        for (int i = 0; i < NUGGET_SPRAY_STACKS; i++) drops.add(new ItemStack(items[i], counts[i]));
+        return drops;
+    }
+
+    /**
+     * {@link #nuggetSpray(Random)} into caller-owned arrays (at least {@link #NUGGET_SPRAY_STACKS} long),
+     * drawing the same numbers in the same order; nothing is allocated.
+     */
+    public static void nuggetSpray(Random rand, Item[] items, int[] counts) {
+        // (int) binds to the literal, so the nugget factors are all 2
+        counts[0] = (int) 2.3 * rand.nextInt(35 - 17 + 1) + 17; // iron nuggets
+        counts[1] = (int) 2.6 * rand.nextInt(27 - 13 + 1) + 13; // gold nuggets
+        counts[2] = (int) 2.8 * rand.nextInt(41 - 19 + 1) + 19; // copper nuggets
+        counts[3] = rand.nextInt(35 - 17 + 1) + 17;             // iron ingots
+        counts[4] = rand.nextInt(27 - 13 + 1) + 13;             // gold ingots
+        counts[5] = rand.nextInt(41 - 19 + 1) + 19;             // copper ingots
+        items[0] = Items.IRON_NUGGET;
+        items[1] = Items.GOLD_NUGGET;
+        items[2] = Items.COPPER_NUGGET;
+        items[3] = Items.IRON_INGOT;
+        items[4] = Items.GOLD_INGOT;
+        items[5] = Items.COPPER_INGOT;
+
+        shuffle(items, counts, 0, 3, rand);
+        shuffle(items, counts, 3, 6, rand);
+    }
+
+    /** {@link net.minecraft.util.Util#shuffle} over {@code [from, to)} of both arrays, same draws. */
+    private static void shuffle(Item[] items, int[] counts, int from, int to, Random rand) {
+        for (int j = to - from; j > 1; j--) {
+            int a = from + j - 1;
+            int b = from + rand.nextInt(j);
+            Item item = items[a];
+            items[a] = items[b];
+            items[b] = item;
+            int count = counts[a];
+            counts[a] = counts[b];
+            counts[b] = count;
+        }
+    }
+
+    public static ItemStack diamonds(Random rand) {
+        int amountDiamonds = rand.nextInt(3 - 1 + 1) + 1;
+        return new ItemStack(Items.DIAMOND, amountDiamonds);
+    }
+
+    /**
+     * Adds the items {@code outcome} is worth to {@code out}, without touching the world.
+     * Outcomes that are entities or effects only count under {@link EntityOutcomePolicy#ITEM_EQUIVALENT}.
+     */
+    public static void collect(DuoyunOutcome outcome, Random rand, EntityOutcomePolicy policy, List<ItemStack> out) {
+        switch (outcome) {
+            case NUGGET_SPRAY -> out.addAll(nuggetSpray(rand));
+            case FALLING_IRON -> out.add(new ItemStack(Items.IRON_BLOCK));
+            case DIAMOND -> out.add(diamonds(rand));
+            case ZOMBIE_PIGLINS -> {
+                if (policy != EntityOutcomePolicy.ITEM_EQUIVALENT) return;
+                // 8..13 zombified piglins, at about what they drop on average
+                int piglins = 8 + rand.nextInt(6);
+                add(out, Items.ROTTEN_FLESH, piglins);
+                add(out, Items.GOLD_NUGGET, piglins);
+            }
+            case BLAZE_ARENA -> {
+                if (policy != EntityOutcomePolicy.ITEM_EQUIVALENT) return;
+                // the arena's blazes, not the reward for clearing it: that needs the fight
+                add(out, Items.BLAZE_ROD, 2 + rand.nextInt(3));
+            }
+            case CALAMITY, BAD_LUCK, BIG_PRIZE -> {
+                // nothing that could be put into an inventory
+            }
+        }
+    }
+
+    private static void add(List<ItemStack> out, Item item, int count) {
+        if (count > 0) out.add(new ItemStack(item, count));
+    }
+
+    private OutcomeLoot() {}
+}
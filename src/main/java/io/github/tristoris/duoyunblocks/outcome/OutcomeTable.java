@@ -0,0 +1,99 @@
+package io.github.tristoris.duoyunblocks.outcome;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import io.github.tristoris.duoyunblocks.core.RollTable;
+import net.minecraft.util.StringIdentifiable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The datapack form of the outcome table, compiled into a {@link RollTable}. Two modes:
+ *  - threshold: each entry starts at a hit value ({@code from}) and runs up to the next one;
+ *    hits below the first entry get the fallback.
+ *  - weighted: hits are ignored and entries are drawn by {@code weight}.
+ */
+public final class OutcomeTable {
+
+    public static final Codec<DuoyunOutcome> OUTCOME_CODEC = Codec.STRING.comapFlatMap(
+            id -> {
+                DuoyunOutcome outcome = DuoyunOutcome.byId(id);
+                return outcome != null ? DataResult.success(outcome) : DataResult.error(() -> "Unknown Duoyun outcome: " + id);
+            },
+            DuoyunOutcome::id);
+
+    public enum Mode implements StringIdentifiable {
+        THRESHOLD("threshold"),
+        WEIGHTED("weighted");
+
+        public static final Codec<Mode> CODEC = StringIdentifiable.createCodec(Mode::values);
+
+        private final String name;
+
+        Mode(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String asString() {
+            return name;
+        }
+    }
+
+    /** One line of the datapack file; {@code from} is used by threshold tables, {@code weight} by weighted ones. */
+    public record Entry(Optional<Integer> from, Optional<Double> weight, DuoyunOutcome outcome) {
+        public static final Codec<Entry> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.intRange(RollTable.MIN_HIT, RollTable.MAX_HIT).optionalFieldOf("from").forGetter(Entry::from),
+                        Codec.doubleRange(0.0, Double.MAX_VALUE).optionalFieldOf("weight").forGetter(Entry::weight),
+                        OUTCOME_CODEC.fieldOf("outcome").forGetter(Entry::outcome)
+                ).apply(instance, Entry::new)
+        );
+    }
+
+    public record Definition(Mode mode, Optional<DuoyunOutcome> fallback, List<Entry> outcomes) {
+        public static final Codec<Definition> CODEC = RecordCodecBuilder.<Definition>create(instance ->
+                instance.group(
+                        Mode.CODEC.optionalFieldOf("mode", Mode.THRESHOLD).forGetter(Definition::mode),
+                        OUTCOME_CODEC.optionalFieldOf("fallback").forGetter(Definition::fallback),
+                        Entry.CODEC.listOf().fieldOf("outcomes").forGetter(Definition::outcomes)
+                ).apply(instance, Definition::new)
+        ).validate(Definition::validate);
+
+        private DataResult<Definition> validate() {
+            if (outcomes.isEmpty()) return DataResult.error(() -> "Outcome table has no outcomes");
+            for (Entry entry : outcomes) {
+                if (mode == Mode.THRESHOLD && entry.from().isEmpty()) {
+                    return DataResult.error(() -> "Threshold entry for " + entry.outcome().id() + " has no 'from'");
+                }
+                if (mode == Mode.WEIGHTED && entry.weight().isEmpty()) {
+                    return DataResult.error(() -> "Weighted entry for " + entry.outcome().id() + " has no 'weight'");
+                }
+            }
+            if (mode == Mode.WEIGHTED && outcomes.stream().mapToDouble(e -> e.weight().orElse(0.0)).sum() <= 0.0) {
+                return DataResult.error(() -> "Weighted outcome table has no positive weight");
+            }
+            return DataResult.success(this);
+        }
+    }
+
+    public static RollTable compile(Definition definition) {
+        List<Entry> entries = definition.outcomes();
+        DuoyunOutcome[] outcomes = new DuoyunOutcome[entries.size()];
+        for (int i = 0; i < outcomes.length; i++) outcomes[i] = entries.get(i).outcome();
+
+        if (definition.mode() == Mode.THRESHOLD) {
+            int[] from = new int[entries.size()];
+            for (int i = 0; i < from.length; i++) from[i] = entries.get(i).from().orElseThrow();
+            return RollTable.thresholds(from, outcomes, definition.fallback().orElse(null));
+        }
+        double[] weights = new double[entries.size()];
+        for (int i = 0; i < weights.length; i++) weights[i] = entries.get(i).weight().orElseThrow();
+        return RollTable.weighted(weights, outcomes);
+    }
+
+    private OutcomeTable() {}
+}
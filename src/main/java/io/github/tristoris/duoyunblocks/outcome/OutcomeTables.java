@@ -0,0 +1,99 @@
+package io.github.tristoris.duoyunblocks.outcome;
+
+import com.google.gson.JsonParser;
+import com.mojang.serialization.JsonOps;
+import io.github.tristoris.duoyunblocks.DuoyunBlocks;
+import io.github.tristoris.duoyunblocks.audit.RollAudit;
+import io.github.tristoris.duoyunblocks.core.DuoyunOutcome;
+import io.github.tristoris.duoyunblocks.core.LuckMath;
+import io.github.tristoris.duoyunblocks.core.RollTable;
+import io.github.tristoris.duoyunblocks.util.DuoyunGameRules;
+import io.github.tristoris.duoyunblocks.util.DuoyunRandom;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Reader;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Loads {@code data/duoyunblocks/duoyun/outcomes.json} on every datapack (re)load and keeps the
+ * compiled result. A missing or broken file leaves the built-in {@link RollTable#DEFAULT}.
+ */
+public final class OutcomeTables {
+    private static final Identifier FILE = Identifier.of(DuoyunBlocks.MOD_ID, "duoyun/outcomes.json");
+
+    private static volatile RollTable active = RollTable.DEFAULT;
+
+    public static RollTable active() {
+        return active;
+    }
+
+    /**
+     * Rolls an outcome for a block with {@code blockLuck}, opened with {@code bonusLuck} on top
+     * (from the breaking player's luck attribute; 0 for machines).
+     */
+    public static DuoyunOutcome roll(double blockLuck, double bonusLuck, Random rand) {
+        return LuckMath.roll(active, blockLuck, bonusLuck, rand.nextDouble(), rand.nextDouble());
+    }
+
+    /**
+     * {@link #roll(double, double, Random)} at {@code pos}, appended to the audit log unless the
+     * duoyunAuditRolls gamerule is off. {@code rand} is the latest roll of the stream {@code source} draws
+     * from ({@link DuoyunRandom.Stream#OPENER} for the opener, {@link DuoyunRandom.Stream#BREAK} otherwise),
+     * whose seed goes into the log.
+     */
+    public static DuoyunOutcome roll(ServerWorld world, BlockPos pos, @Nullable UUID player, RollAudit.Source source,
+                                     double blockLuck, double bonusLuck, Random rand) {
+        double hit = LuckMath.hit(rand.nextDouble(), LuckMath.finalLuck(blockLuck, bonusLuck));
+        DuoyunOutcome outcome = active.resolve(hit, rand.nextDouble());
+        if (world.getGameRules().getBoolean(DuoyunGameRules.AUDIT_ROLLS)) {
+            RollAudit.record(world, pos, player, source, blockLuck, bonusLuck, hit, outcome,
+                    DuoyunRandom.lastSeed(world, stream(source)));
+        }
+        return outcome;
+    }
+
+    private static DuoyunRandom.Stream stream(RollAudit.Source source) {
+        return source == RollAudit.Source.OPENER ? DuoyunRandom.Stream.OPENER : DuoyunRandom.Stream.BREAK;
+    }
+
+    public static void init() {
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return Identifier.of(DuoyunBlocks.MOD_ID, "outcome_table");
+            }
+
+            @Override
+            public void reload(ResourceManager manager) {
+                active = load(manager);
+            }
+        });
+    }
+
+    private static RollTable load(ResourceManager manager) {
+        Optional<Resource> resource = manager.getResource(FILE);
+        if (resource.isEmpty()) return RollTable.DEFAULT;
+
+        try (Reader reader = resource.get().getReader()) {
+            return OutcomeTable.Definition.CODEC.parse(JsonOps.INSTANCE, JsonParser.parseReader(reader))
+                    .map(OutcomeTable::compile)
+                    .resultOrPartial(error -> DuoyunBlocks.LOGGER.error("Bad outcome table {}: {}", FILE, error))
+                    .orElse(RollTable.DEFAULT);
+        } catch (Exception e) {
+            DuoyunBlocks.LOGGER.error("Could not read outcome table {}", FILE, e);
+            return RollTable.DEFAULT;
+        }
+    }
+
+    private OutcomeTables() {}
+}
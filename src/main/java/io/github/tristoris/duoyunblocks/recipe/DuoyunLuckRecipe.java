@@ -0,0 +1,111 @@
+package io.github.tristoris.duoyunblocks.recipe;
+
+import io.github.tristoris.duoyunblocks.components.DuoyunStats;
+import io.github.tristoris.duoyunblocks.items.DuoyunBlockItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.SpecialCraftingRecipe;
+import net.minecraft.recipe.book.CraftingRecipeCategory;
+import net.minecraft.recipe.input.CraftingRecipeInput;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.world.World;
+
+/**
+ * One Duoyun block plus any number of catalysts: each catalyst shifts luck by {@link #luckPerCatalyst()}.
+ * Luck stops at ±100, and catalysts that would go past it are handed back instead of consumed.
+ */
+public abstract class DuoyunLuckRecipe extends SpecialCraftingRecipe {
+    protected DuoyunLuckRecipe(CraftingRecipeCategory category) {
+        super(category);
+    }
+
+    protected abstract Item catalyst();
+
+    /** Luck change per catalyst; negative for downgrades. */
+    protected abstract int luckPerCatalyst();
+
+    @Override
+    public boolean matches(CraftingRecipeInput input, World world) {
+        // at least the block and one catalyst; most grids fail here without looking at a stack
+        int stacks = input.getStackCount();
+        if (stacks < 2) return false;
+
+        ItemStack block = ItemStack.EMPTY;
+        Item catalyst = catalyst();
+        int catalysts = 0;
+
+        // vanilla grids fail on their first stack that is neither; stop after the last non-empty slot
+        for (int i = 0, seen = 0; seen < stacks; i++) {
+            ItemStack stack = input.getStackInSlot(i);
+            if (stack.isEmpty()) continue;
+            seen++;
+
+            if (stack.getItem() instanceof DuoyunBlockItem) {
+                if (!block.isEmpty()) return false; // a second block
+                block = stack;
+            } else if (stack.isOf(catalyst)) {
+                // a grid of catalysts alone (e.g. the gold block recipe) fails once no slot is left for a block
+                if (++catalysts == stacks) return false;
+            } else {
+                return false;
+            }
+        }
+
+        return !block.isEmpty() && needed(DuoyunBlockItem.getLuck(block), catalysts) > 0;
+    }
+
+    @Override
+    public ItemStack craft(CraftingRecipeInput input, RegistryWrapper.WrapperLookup registries) {
+        ItemStack base = ItemStack.EMPTY;
+        int catalysts = 0;
+
+        for (int i = 0; i < input.size(); i++) {
+            ItemStack stack = input.getStackInSlot(i);
+            if (stack.isEmpty()) continue;
+            if (stack.isOf(catalyst())) {
+                catalysts++;
+            } else if (base.isEmpty() && stack.getItem() instanceof DuoyunBlockItem) {
+                // copy NBT/components but force count = 1
+                base = stack.copyWithCount(1);
+            }
+        }
+
+        if (base.isEmpty()) return ItemStack.EMPTY;
+
+        int luck = DuoyunBlockItem.getLuck(base);
+        DuoyunBlockItem.setLuck(base, luck + needed(luck, catalysts) * luckPerCatalyst());
+        return base;
+    }
+
+    @Override
+    public DefaultedList<ItemStack> getRecipeRemainders(CraftingRecipeInput input) {
+        DefaultedList<ItemStack> remainders = super.getRecipeRemainders(input);
+
+        int luck = 0;
+        int catalysts = 0;
+        for (int i = 0; i < input.size(); i++) {
+            ItemStack stack = input.getStackInSlot(i);
+            if (stack.isOf(catalyst())) catalysts++;
+            else if (stack.getItem() instanceof DuoyunBlockItem) luck = DuoyunBlockItem.getLuck(stack);
+        }
+
+        // the crafting grid takes one of every stack; give back what the luck cap made unnecessary
+        int keep = needed(luck, catalysts);
+        for (int i = 0; i < input.size(); i++) {
+            ItemStack stack = input.getStackInSlot(i);
+            if (!stack.isOf(catalyst())) continue;
+            if (keep > 0) keep--;
+            else remainders.set(i, stack.copyWithCount(1));
+        }
+        return remainders;
+    }
+
+    /** How many of {@code catalysts} it takes before luck hits its bound. */
+    private int needed(int luck, int catalysts) {
+        int step = luckPerCatalyst();
+        int room = step > 0 ? DuoyunStats.MAX_LUCK - luck : luck - DuoyunStats.MIN_LUCK;
+        int toBound = (room + Math.abs(step) - 1) / Math.abs(step);
+        return Math.max(0, Math.min(catalysts, toBound));
+    }
+}
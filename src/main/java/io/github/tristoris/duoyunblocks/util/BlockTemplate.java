@@ -0,0 +1,162 @@
+package io.github.tristoris.duoyunblocks.util;
+
+import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable block structure: a palette of states plus packed offsets relative to an origin.
+ *
+ * Built once through {@link Builder}, where later writes to the same offset replace earlier ones,
+ * so a placement only ever touches each position once. Entries can be tagged with a build stage;
+ * they are stored sorted by stage, and an entry belongs to the stage of its last write.
+ * Placed with {@link BulkBlockWriter}.
+ */
+public final class BlockTemplate {
+    private final BlockState[] palette;
+    private final boolean[] connecting; // palette entries whose shape depends on their neighbours
+    private final long[] offsets;       // BlockPos.asLong(dx, dy, dz)
+    private final int[] states;         // palette index per offset
+    private final int[] stages;         // build stage per offset, ascending
+    private final boolean[] boundary;   // per offset: has a face towards a position outside the template
+
+    private BlockTemplate(BlockState[] palette, boolean[] connecting, long[] offsets, int[] states, int[] stages,
+                          boolean[] boundary) {
+        this.palette = palette;
+        this.connecting = connecting;
+        this.offsets = offsets;
+        this.states = states;
+        this.stages = stages;
+        this.boundary = boundary;
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public long offset(int index) {
+        return offsets[index];
+    }
+
+    public BlockState state(int index) {
+        return palette[states[index]];
+    }
+
+    public int stage(int index) {
+        return stages[index];
+    }
+
+    /** True if the state at {@code index} has to be re-shaped against its neighbours after placement. */
+    public boolean isConnecting(int index) {
+        return connecting[states[index]];
+    }
+
+    /** True if the entry at {@code index} touches a position the template does not cover. */
+    public boolean isBoundary(int index) {
+        return boundary[index];
+    }
+
+    /** Offsets of every entry holding exactly {@code state}. */
+    public long[] offsetsOf(BlockState state) {
+        int count = 0;
+        for (int i = 0; i < offsets.length; i++) if (palette[states[i]] == state) count++;
+        long[] result = new long[count];
+        int n = 0;
+        for (int i = 0; i < offsets.length; i++) if (palette[states[i]] == state) result[n++] = offsets[i];
+        return result;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final List<BlockState> palette = new ArrayList<>();
+        private final List<Boolean> connecting = new ArrayList<>();
+        private final Object2IntOpenHashMap<BlockState> paletteIndex = new Object2IntOpenHashMap<>();
+        private final Long2IntLinkedOpenHashMap entries = new Long2IntLinkedOpenHashMap();
+        private final Long2IntOpenHashMap entryStages = new Long2IntOpenHashMap();
+        private int stage;
+
+        private Builder() {
+            paletteIndex.defaultReturnValue(-1);
+        }
+
+        /** Tags every following write with {@code stage}; stages are placed in ascending order. */
+        public Builder stage(int stage) {
+            this.stage = stage;
+            return this;
+        }
+
+        public Builder set(int dx, int dy, int dz, BlockState state) {
+            return put(BlockPos.asLong(dx, dy, dz), index(state, false));
+        }
+
+        /** Same as {@link #set}, for states like walls and panes that connect to what is around them. */
+        public Builder setConnecting(int dx, int dy, int dz, BlockState state) {
+            return put(BlockPos.asLong(dx, dy, dz), index(state, true));
+        }
+
+        private Builder put(long offset, int paletteIndex) {
+            entries.put(offset, paletteIndex);
+            entryStages.put(offset, stage);
+            return this;
+        }
+
+        /** Sets {@code height} blocks going up from the given offset. */
+        public Builder column(int dx, int dy, int dz, int height, BlockState state) {
+            for (int i = 0; i < height; i++) set(dx, dy + i, dz, state);
+            return this;
+        }
+
+        private int index(BlockState state, boolean connects) {
+            int index = paletteIndex.getInt(state);
+            if (index < 0) {
+                index = palette.size();
+                palette.add(state);
+                connecting.add(connects);
+                paletteIndex.put(state, index);
+            } else if (connects) {
+                connecting.set(index, true);
+            }
+            return index;
+        }
+
+        public BlockTemplate build() {
+            BlockState[] states = palette.toArray(new BlockState[0]);
+            boolean[] connects = new boolean[states.length];
+            for (int i = 0; i < connects.length; i++) connects[i] = connecting.get(i);
+
+            // stable sort by stage: walk the distinct stages in order, keep insertion order inside each
+            int[] stageList = entryStages.values().intStream().distinct().sorted().toArray();
+            long[] offsets = new long[entries.size()];
+            int[] indices = new int[entries.size()];
+            int[] stageOf = new int[entries.size()];
+            int n = 0;
+            for (int stage : stageList) {
+                for (var it = entries.long2IntEntrySet().fastIterator(); it.hasNext(); ) {
+                    var e = it.next();
+                    if (entryStages.get(e.getLongKey()) != stage) continue;
+                    offsets[n] = e.getLongKey();
+                    indices[n] = e.getIntValue();
+                    stageOf[n++] = stage;
+                }
+            }
+            LongOpenHashSet covered = new LongOpenHashSet(offsets);
+            boolean[] boundary = new boolean[offsets.length];
+            for (int i = 0; i < offsets.length; i++) {
+                long o = offsets[i];
+                boundary[i] = !covered.contains(BlockPos.add(o, 1, 0, 0)) || !covered.contains(BlockPos.add(o, -1, 0, 0))
+                        || !covered.contains(BlockPos.add(o, 0, 1, 0)) || !covered.contains(BlockPos.add(o, 0, -1, 0))
+                        || !covered.contains(BlockPos.add(o, 0, 0, 1)) || !covered.contains(BlockPos.add(o, 0, 0, -1));
+            }
+            return new BlockTemplate(states, connects, offsets, indices, stageOf, boundary);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.tristoris.duoyunblocks.util;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+import java.util.BitSet;
+
+/**
+ * Writes a {@link BlockTemplate} into the world, at once or a budget at a time.
+ *
+ * Entries are written stage by stage, section by section inside a stage, and only where the
+ * world differs from the template. No neighbour updates are sent while writing: inside the template
+ * they would only hit blocks that are about to be replaced, and connecting states are re-shaped
+ * against the final result in a pass of their own. A last pass then updates the neighbours of every
+ * changed boundary entry, so what surrounds the structure (fluids, torches, falling blocks,
+ * redstone) reacts once to the finished shell. Clients are told through the chunk holder, which
+ * batches everything written to a section this tick into a single delta packet; light checks are
+ * only queued here and run after the tick.
+ *
+ * A placement never loads a chunk: an entry whose chunk (or, for the re-shape and neighbour passes,
+ * a neighbouring chunk) is not loaded stops the step, and the placement reports that chunk through
+ * {@link Placement#blockedChunk()} until a later step gets past it.
+ */
+public final class BulkBlockWriter {
+    private static final int FLAGS = Block.NOTIFY_LISTENERS | Block.FORCE_STATE;
+    private static final int CLOCK_CHECK_INTERVAL = 32; // entries between System.nanoTime() calls
+
+    /** Deadline for {@link Placement#step} that never expires. */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final long NO_CHUNK = Long.MIN_VALUE; // no ChunkPos packs to this inside the world border
+
+    /**
+     * Places the whole template at {@code origin}, stopping early at a chunk that is not loaded;
+     * returns the number of blocks actually changed.
+     */
+    public static int place(ServerWorld world, BlockPos origin, BlockTemplate template) {
+        Placement placement = begin(world, origin, template);
+        placement.step(Integer.MAX_VALUE, NO_DEADLINE);
+        return placement.written();
+    }
+
+    /** Starts an incremental placement; drive it with {@link Placement#step}. */
+    public static Placement begin(ServerWorld world, BlockPos origin, BlockTemplate template) {
+        return new Placement(world, origin.toImmutable(), template);
+    }
+
+    public static final class Placement {
+        private final ServerWorld world;
+        private final BlockPos origin;
+        private final BlockTemplate template;
+        private final int[] order;       // template indices: by stage, then by section
+        private final BlockPos.Mutable pos = new BlockPos.Mutable();
+        private final BitSet changed;    // template indices this placement actually wrote
+        private int cursor;              // into order, then on into the re-shape and neighbour passes
+        private int written;
+        private long blocked = NO_CHUNK;     // unloaded chunk the last step stopped at
+        private long loadedChunk = NO_CHUNK; // last chunk seen loaded in this step
+
+        private Placement(ServerWorld world, BlockPos origin, BlockTemplate template) {
+            this.world = world;
+            this.origin = origin;
+            this.template = template;
+            this.order = sectionOrder(origin, template);
+            this.changed = new BitSet(template.size());
+        }
+
+        /**
+         * Processes up to {@code maxEntries} entries, stopping early once {@code deadlineNanos}
+         * ({@link System#nanoTime()} based, or {@link #NO_DEADLINE}) has passed, or at an entry
+         * whose chunk is not loaded (see {@link #isBlocked()}). Returns the number of entries processed.
+         */
+        public int step(int maxEntries, long deadlineNanos) {
+            int size = template.size();
+            int processed = 0;
+            blocked = NO_CHUNK;
+            loadedChunk = NO_CHUNK; // chunks may have unloaded since the last step
+            while (processed < maxEntries && cursor < size * 3) {
+                if (deadlineNanos != NO_DEADLINE && processed % CLOCK_CHECK_INTERVAL == CLOCK_CHECK_INTERVAL - 1
+                        && System.nanoTime() - deadlineNanos > 0) break;
+
+                if (cursor < size) {
+                    int i = order[cursor];
+                    if (!isLoaded(at(pos, origin, template.offset(i)), 0)) break;
+                    track(i, write(world, pos, template.state(i)));
+                } else if (cursor < size * 2) {
+                    int i = cursor - size;
+                    if (template.isConnecting(i)) {
+                        // the new shape is read off the neighbours
+                        if (!isLoaded(at(pos, origin, template.offset(i)), 1)) break;
+                        track(i, write(world, pos, Block.postProcessState(template.state(i), world, pos)));
+                    }
+                } else {
+                    int i = cursor - size * 2;
+                    if (template.isBoundary(i) && changed.get(i)) {
+                        if (!isLoaded(at(pos, origin, template.offset(i)), 1)) break;
+                        BlockState state = world.getBlockState(pos);
+                        world.updateNeighbors(pos, state.getBlock());     // neighbour updates: fluids, redstone
+                        state.updateNeighbors(world, pos, Block.NOTIFY_ALL); // shape updates: torches, gravel
+                    }
+                }
+                cursor++;
+                processed++;
+            }
+            return processed;
+        }
+
+        public boolean isDone() {
+            return cursor >= template.size() * 3;
+        }
+
+        /** True if the last step stopped at a chunk that is not loaded; it resumes once that chunk is. */
+        public boolean isBlocked() {
+            return blocked != NO_CHUNK;
+        }
+
+        /** The packed {@link ChunkPos} the last step stopped at; only meaningful while {@link #isBlocked()}. */
+        public long blockedChunk() {
+            return blocked;
+        }
+
+        /** Stage of the next entry to be written, or -1 once every stage has been written. */
+        public int currentStage() {
+            return cursor < template.size() ? template.stage(order[cursor]) : -1;
+        }
+
+        public int written() {
+            return written;
+        }
+
+        /** True if every chunk within {@code reach} blocks of {@code pos} horizontally is loaded. */
+        private boolean isLoaded(BlockPos pos, int reach) {
+            // reach is below a chunk's width, so the corners of the square cover every chunk it touches
+            return isLoaded(pos.getX() - reach, pos.getZ() - reach) && isLoaded(pos.getX() + reach, pos.getZ() - reach)
+                    && isLoaded(pos.getX() - reach, pos.getZ() + reach) && isLoaded(pos.getX() + reach, pos.getZ() + reach);
+        }
+
+        private boolean isLoaded(int x, int z) {
+            int chunkX = ChunkSectionPos.getSectionCoord(x);
+            int chunkZ = ChunkSectionPos.getSectionCoord(z);
+            long chunk = ChunkPos.toLong(chunkX, chunkZ);
+            if (chunk == loadedChunk) return true; // entries come section by section, so mostly a hit
+            if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                blocked = chunk;
+                return false;
+            }
+            loadedChunk = chunk;
+            return true;
+        }
+
+        private void track(int index, int wrote) {
+            if (wrote == 0) return;
+            written++;
+            changed.set(index);
+        }
+    }
+
+    private static int[] sectionOrder(BlockPos origin, BlockTemplate template) {
+        int[] order = new int[template.size()];
+        int n = 0;
+        int i = 0;
+        while (i < template.size()) {
+            // template entries are sorted by stage; group each stage's run by chunk section
+            int stage = template.stage(i);
+            Long2ObjectLinkedOpenHashMap<IntArrayList> sections = new Long2ObjectLinkedOpenHashMap<>();
+            for (; i < template.size() && template.stage(i) == stage; i++) {
+                long offset = template.offset(i);
+                long section = ChunkSectionPos.asLong(
+                        ChunkSectionPos.getSectionCoord(origin.getX() + BlockPos.unpackLongX(offset)),
+                        ChunkSectionPos.getSectionCoord(origin.getY() + BlockPos.unpackLongY(offset)),
+                        ChunkSectionPos.getSectionCoord(origin.getZ() + BlockPos.unpackLongZ(offset)));
+                sections.computeIfAbsent(section, k -> new IntArrayList()).add(i);
+            }
+            for (IntArrayList entries : sections.values()) {
+                entries.getElements(0, order, n, entries.size());
+                n += entries.size();
+            }
+        }
+        return order;
+    }
+
+    private static BlockPos.Mutable at(BlockPos.Mutable pos, BlockPos origin, long offset) {
+        return pos.set(
+                origin.getX() + BlockPos.unpackLongX(offset),
+                origin.getY() + BlockPos.unpackLongY(offset),
+                origin.getZ() + BlockPos.unpackLongZ(offset));
+    }
+
+    private static int write(ServerWorld world, BlockPos pos, BlockState state) {
+        if (world.getBlockState(pos) == state) return 0;
+        return world.setBlockState(pos, state, FLAGS) ? 1 : 0;
+    }
+
+    private BulkBlockWriter() {}
+}
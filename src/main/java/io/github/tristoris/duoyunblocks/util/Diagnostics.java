@@ -0,0 +1,163 @@
+package io.github.tristoris.duoyunblocks.util;
+
+import io.github.tristoris.duoyunblocks.DuoyunBlocks;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Debug and status messages from the mod's events.
+ *
+ * Messages always go to the server log (unless {@link Mode#OFF}); in {@link Mode#CHAT} they are also
+ * sent to the players who subscribed with /duoyun diag subscribe, at or above the level they asked
+ * for. Nobody gets chat messages by default.
+ *
+ * Each source is rate limited with a small token bucket, and a message repeated back to back by the
+ * same source is held and sent once with a repeat count. Server thread only.
+ */
+public final class Diagnostics {
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARN
+    }
+
+    public enum Mode {
+        /** Drop everything. */
+        OFF,
+        /** Server log only. */
+        LOG,
+        /** Server log plus subscribed players. */
+        CHAT
+    }
+
+    private static final String PREFIX = "§6[§eDuoyun Block§6] §r";
+    private static final int BURST = 5;                  // messages a quiet source may send at once
+    private static final int REFILL_TICKS = 20;          // one more message per second after that
+    private static final int COALESCE_TICKS = 100;       // repeats are held at most this long
+
+    private static final class Source {
+        private final String name;
+        private Level level;
+        private String last;
+        private int repeats;     // held copies of last, not yet reported
+        private int suppressed;  // dropped by the rate limit since the last delivery
+        private long lastTick;
+        private long tokenTick;  // tick the bucket was last refilled at
+        private int tokens = BURST;
+
+        private Source(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final Map<String, Source> SOURCES = new HashMap<>();
+    private static final Map<UUID, Level> SUBSCRIBERS = new HashMap<>();
+    private static Mode mode = Mode.CHAT;
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (server.getTicks() % COALESCE_TICKS == 0) flushStale(server);
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> SUBSCRIBERS.remove(handler.getPlayer().getUuid()));
+    }
+
+    /** True if a message at {@code level} could reach anyone; lets callers skip building it. */
+    public static boolean wants(Level level) {
+        if (mode == Mode.OFF) return false;
+        if (level != Level.DEBUG) return true;
+        if (DuoyunBlocks.LOGGER.isDebugEnabled()) return true;
+        if (mode != Mode.CHAT) return false;
+        for (Level subscribed : SUBSCRIBERS.values()) if (subscribed == Level.DEBUG) return true;
+        return false;
+    }
+
+    public static void emit(World world, Level level, String source, String message) {
+        MinecraftServer server = world.getServer();
+        if (server == null || world.isClient() || !wants(level)) return;
+
+        Source s = SOURCES.computeIfAbsent(source, Source::new);
+        long now = server.getTicks();
+
+        if (message.equals(s.last) && s.level == level && now - s.lastTick < COALESCE_TICKS) {
+            s.repeats++;
+            return;
+        }
+        flushRepeats(server, s);
+
+        // refill the bucket
+        int refill = (int) ((now - s.tokenTick) / REFILL_TICKS);
+        if (refill > 0) {
+            s.tokens = Math.min(BURST, s.tokens + refill);
+            s.tokenTick += (long) refill * REFILL_TICKS;
+        }
+        if (s.tokens == 0) {
+            s.suppressed++;
+            return;
+        }
+        s.tokens--;
+        if (s.tokens == BURST - 1) s.tokenTick = now;
+
+        s.last = message;
+        s.level = level;
+        s.lastTick = now;
+        String text = s.suppressed > 0 ? message + " (" + s.suppressed + " more suppressed)" : message;
+        s.suppressed = 0;
+        deliver(server, level, source, text);
+    }
+
+    public static void subscribe(ServerPlayerEntity player, Level level) {
+        SUBSCRIBERS.put(player.getUuid(), level);
+    }
+
+    public static void unsubscribe(ServerPlayerEntity player) {
+        SUBSCRIBERS.remove(player.getUuid());
+    }
+
+    public static Mode mode() {
+        return mode;
+    }
+
+    public static void setMode(Mode newMode) {
+        mode = newMode;
+    }
+
+    private static void flushStale(MinecraftServer server) {
+        long now = server.getTicks();
+        for (Source s : SOURCES.values()) {
+            if (s.repeats > 0 && now - s.lastTick >= COALESCE_TICKS) flushRepeats(server, s);
+        }
+    }
+
+    private static void flushRepeats(MinecraftServer server, Source s) {
+        if (s.repeats == 0) return;
+        int repeats = s.repeats;
+        s.repeats = 0;
+        deliver(server, s.level, s.name, s.last + " (x" + repeats + " more)");
+    }
+
+    private static void deliver(MinecraftServer server, Level level, String source, String message) {
+        switch (level) {
+            case DEBUG -> DuoyunBlocks.LOGGER.debug("[{}] {}", source, message);
+            case INFO -> DuoyunBlocks.LOGGER.info("[{}] {}", source, message);
+            case WARN -> DuoyunBlocks.LOGGER.warn("[{}] {}", source, message);
+        }
+        if (mode != Mode.CHAT || SUBSCRIBERS.isEmpty()) return;
+
+        Text text = Text.literal(PREFIX + message);
+        for (Map.Entry<UUID, Level> subscriber : SUBSCRIBERS.entrySet()) {
+            if (level.compareTo(subscriber.getValue()) < 0) continue;
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(subscriber.getKey());
+            if (player != null) player.sendMessage(text, false);
+        }
+    }
+
+    private Diagnostics() {}
+}
@@ -0,0 +1,64 @@
+package io.github.tristoris.duoyunblocks.util;
+
+import io.github.tristoris.duoyunblocks.blocks.LuckStorage;
+import io.github.tristoris.duoyunblocks.outcome.EntityOutcomePolicy;
+import net.fabricmc.fabric.api.gamerule.v1.GameRuleFactory;
+import net.fabricmc.fabric.api.gamerule.v1.GameRuleRegistry;
+import net.fabricmc.fabric.api.gamerule.v1.rule.EnumRule;
+import net.minecraft.world.GameRules;
+
+/**
+ * Server-tunable knobs, set per world with /gamerule.
+ */
+public final class DuoyunGameRules {
+    /** Arena blocks written per world tick, shared by every arena under construction. */
+    public static final GameRules.Key<GameRules.IntRule> ARENA_BLOCKS_PER_TICK =
+            GameRuleRegistry.register("duoyunArenaBlocksPerTick", GameRules.Category.UPDATES,
+                    GameRuleFactory.createIntRule(256, 1));
+
+    /** Wall-clock budget for arena construction per world tick, in microseconds; 0 = no time limit. */
+    public static final GameRules.Key<GameRules.IntRule> ARENA_MICROS_PER_TICK =
+            GameRuleRegistry.register("duoyunArenaMicrosPerTick", GameRules.Category.UPDATES,
+                    GameRuleFactory.createIntRule(2000, 0));
+
+    /** Most item entities one Duoyun spray may create (at most 1024); larger payloads are packed into merged stacks. */
+    public static final GameRules.Key<GameRules.IntRule> SPRAY_ENTITY_CAP =
+            GameRuleRegistry.register("duoyunSprayEntityCap", GameRules.Category.DROPS,
+                    GameRuleFactory.createIntRule(48, 0, 1024));
+
+    /** Logs the seed of every Duoyun roll so it can be replayed with /duoyun replay. */
+    public static final GameRules.Key<GameRules.BooleanRule> RECORD_ROLLS =
+            GameRuleRegistry.register("duoyunRecordRolls", GameRules.Category.MISC,
+                    GameRuleFactory.createBooleanRule(false));
+
+    /** Keep Duoyun block luck in the block state instead of a block entity; existing ones migrate on load. */
+    public static final GameRules.Key<GameRules.BooleanRule> LUCK_IN_BLOCK_STATE =
+            GameRuleRegistry.register("duoyunLuckInBlockState", GameRules.Category.MISC,
+                    GameRuleFactory.createBooleanRule(false, (server, rule) -> LuckStorage.setInBlockState(rule.get())));
+
+    /** Rolls each Duoyun Opener may resolve per tick; 0 pauses every opener. */
+    public static final GameRules.Key<GameRules.IntRule> OPENER_ROLLS_PER_TICK =
+            GameRuleRegistry.register("duoyunOpenerRollsPerTick", GameRules.Category.UPDATES,
+                    GameRuleFactory.createIntRule(4, 0));
+
+    /** Whether Duoyun Openers turn entity-only outcomes into their item equivalent or skip them. */
+    public static final GameRules.Key<EnumRule<EntityOutcomePolicy>> OPENER_ENTITY_OUTCOMES =
+            GameRuleRegistry.register("duoyunOpenerEntityOutcomes", GameRules.Category.DROPS,
+                    GameRuleFactory.createEnumRule(EntityOutcomePolicy.SKIP));
+
+    /** Appends every Duoyun roll to the binary audit log under the world folder, for /duoyun audit. */
+    public static final GameRules.Key<GameRules.BooleanRule> AUDIT_ROLLS =
+            GameRuleRegistry.register("duoyunAuditRolls", GameRules.Category.MISC,
+                    GameRuleFactory.createBooleanRule(true));
+
+    /** Zombified piglins that all Duoyun blocks destroyed in one tick may spawn together; the rest drop as items. */
+    public static final GameRules.Key<GameRules.IntRule> BATCH_HOSTILE_CAP =
+            GameRuleRegistry.register("duoyunBatchHostileCap", GameRules.Category.SPAWNING,
+                    GameRuleFactory.createIntRule(16, 0));
+
+    public static void init() {
+
+    }
+
+    private DuoyunGameRules() {}
+}
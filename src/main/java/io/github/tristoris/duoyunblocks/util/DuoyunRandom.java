@@ -0,0 +1,109 @@
+package io.github.tristoris.duoyunblocks.util;
+
+import io.github.tristoris.duoyunblocks.DuoyunBlocks;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.random.LocalRandom;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.util.math.random.RandomSeed;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Randomness for everything a Duoyun block does, one set of streams per world. Server thread only.
+ *
+ * Every roll reseeds its stream from the world seed, the dimension, the world time and a per-world
+ * roll counter, so nothing is shared between worlds and no generator is contended. With the
+ * duoyunRecordRolls gamerule on, each roll's seed is logged; {@link #replay} feeds such a seed
+ * back in to make the next roll of that stream come out exactly the same, e.g. in a test world.
+ *
+ * The {@link Random} handed out is reused by the next roll of the same stream: use it right away,
+ * and take a {@link Random#nextLong()} for anything that runs later and reseed with {@link #fork}.
+ *
+ * The streams are {@link LocalRandom}s because reseeding one only resets its state, where the
+ * xoroshiro generator builds a new implementation object on every reseed. The seeds themselves
+ * are fully mixed 64-bit values, so the shorter generator state is not a concern for a roll.
+ */
+public final class DuoyunRandom {
+    /** Independent streams, so e.g. a reward drawn in between cannot shift a break's outcome. */
+    public enum Stream {
+        BREAK,
+        REWARD,
+        DEFERRED,
+        /** Rolls of the Duoyun Opener, kept apart so a busy opener cannot shift what players break. */
+        OPENER
+    }
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final class WorldStreams {
+        private final long base;
+        private final LocalRandom[] streams = new LocalRandom[Stream.values().length];
+        private final LongArrayFIFOQueue[] replays = new LongArrayFIFOQueue[Stream.values().length];
+        private final long[] lastSeeds = new long[Stream.values().length];
+        private long counter;
+
+        private WorldStreams(ServerWorld world) {
+            this.base = RandomSeed.mixStafford13(world.getSeed() ^ world.getRegistryKey().getValue().hashCode() * GOLDEN_GAMMA);
+            for (int i = 0; i < streams.length; i++) {
+                streams[i] = new LocalRandom(0L);
+                replays[i] = new LongArrayFIFOQueue();
+            }
+        }
+    }
+
+    private static final Map<ServerWorld, WorldStreams> WORLDS = new WeakHashMap<>();
+
+    /** Starts a new roll on {@code stream}: reseeds it and, in record mode, logs the seed. */
+    public static Random next(ServerWorld world, Stream stream) {
+        WorldStreams streams = streams(world);
+        LongArrayFIFOQueue replay = streams.replays[stream.ordinal()];
+        long roll = ++streams.counter;
+        long seed;
+        if (!replay.isEmpty()) {
+            seed = replay.dequeueLong();
+        } else {
+            long mixed = streams.base + (world.getTime() * 31 + stream.ordinal()) * GOLDEN_GAMMA + roll;
+            seed = RandomSeed.mixStafford13(mixed);
+        }
+        if (world.getGameRules().getBoolean(DuoyunGameRules.RECORD_ROLLS)) {
+            DuoyunBlocks.LOGGER.info("Duoyun roll #{} in {}: stream {} seed {}",
+                    roll, world.getRegistryKey().getValue(), stream, seed);
+        }
+        streams.lastSeeds[stream.ordinal()] = seed;
+        return reseed(streams, stream, seed);
+    }
+
+    /** The seed of the latest {@link #next} roll of {@code stream} in this world, e.g. for the audit log. */
+    public static long lastSeed(ServerWorld world, Stream stream) {
+        return streams(world).lastSeeds[stream.ordinal()];
+    }
+
+    /** Reseeds {@code stream} with a seed drawn earlier, for work that runs after its roll. */
+    public static Random fork(ServerWorld world, Stream stream, long seed) {
+        return reseed(streams(world), stream, seed);
+    }
+
+    /** Makes the next roll of {@code stream} in this world use {@code seed}; queued calls apply in order. */
+    public static void replay(ServerWorld world, Stream stream, long seed) {
+        streams(world).replays[stream.ordinal()].enqueue(seed);
+    }
+
+    private static Random reseed(WorldStreams streams, Stream stream, long seed) {
+        LocalRandom random = streams.streams[stream.ordinal()];
+        random.setSeed(seed);
+        return random;
+    }
+
+    private static WorldStreams streams(ServerWorld world) {
+        WorldStreams streams = WORLDS.get(world);
+        if (streams == null) {
+            streams = new WorldStreams(world);
+            WORLDS.put(world, streams);
+        }
+        return streams;
+    }
+
+    private DuoyunRandom() {}
+}
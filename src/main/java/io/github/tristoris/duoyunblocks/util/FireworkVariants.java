@@ -0,0 +1,77 @@
+package io.github.tristoris.duoyunblocks.util;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.component.type.FireworkExplosionComponent;
+import net.minecraft.component.type.FireworksComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The fixed set of reward rockets. Built from a constant seed, so server and client
+ * produce the same list and a rocket can be sent over the wire as its index.
+ */
+public final class FireworkVariants {
+    private static final int COUNT = 16;
+    private static final List<FireworksComponent> VARIANTS = build();
+
+    public static int count() {
+        return VARIANTS.size();
+    }
+
+    public static FireworksComponent get(int index) {
+        return VARIANTS.get(Math.floorMod(index, VARIANTS.size()));
+    }
+
+    private static List<FireworksComponent> build() {
+        Random rand = new Random(0x5EED_F1AEL);
+        List<FireworksComponent> variants = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            boolean exploding = i % 2 == 0; // mix: half exploding, half plain
+            variants.add(make(rand, exploding));
+        }
+        return List.copyOf(variants);
+    }
+
+    private static FireworksComponent make(Random rand, boolean exploding) {
+        int flight = 1 + rand.nextInt(3); // 1..3
+        List<FireworkExplosionComponent> explosions = List.of();
+
+        if (exploding) {
+            // 0..4: SMALL_BALL, LARGE_BALL, STAR, CREEPER, BURST
+            FireworkExplosionComponent.Type[] types = FireworkExplosionComponent.Type.values();
+            FireworkExplosionComponent.Type type = types[rand.nextInt(types.length)];
+
+            int[] palette = new int[]{
+                    0xFFFFFF, 0xFF0000, 0x00FF00, 0x0000FF,
+                    0xFFFF00, 0xFF00FF, 0x00FFFF, 0xFFA500,
+                    0x800080, 0x00AEEF
+            };
+            int c1 = palette[rand.nextInt(palette.length)];
+            int c2 = palette[rand.nextInt(palette.length)];
+            IntList colors = rand.nextBoolean()
+                    ? new IntArrayList(new int[]{c1})
+                    : new IntArrayList(new int[]{c1, c2});
+
+            IntList fades = IntList.of();
+            if (rand.nextBoolean()) {
+                int fade = palette[rand.nextInt(palette.length)];
+                fades = new IntArrayList(new int[]{fade});
+            }
+
+            boolean trail = rand.nextBoolean();
+            boolean twinkle = rand.nextBoolean(); // (aka "flicker")
+
+            FireworkExplosionComponent explosion =
+                    new FireworkExplosionComponent(type, colors, fades, trail, twinkle);
+
+            explosions = List.of(explosion);
+        }
+
+        return new FireworksComponent(flight, explosions);
+    }
+
+    private FireworkVariants() {}
+}
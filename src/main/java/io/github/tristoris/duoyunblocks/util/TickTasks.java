@@ -1,39 +1,208 @@
 package io.github.tristoris.duoyunblocks.util;
 
+import io.github.tristoris.duoyunblocks.DuoyunBlocks;
+import io.github.tristoris.duoyunblocks.core.sched.TimingWheel;
+import io.github.tristoris.duoyunblocks.metrics.DuoyunMetrics;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Delayed server-thread tasks, one hashed {@link TimingWheel} per world.
+ *
+ * Tasks are filed under the absolute wheel tick they are due on, so scheduling is O(1)
+ * and a tick only walks the slot that is due. Tasks further out than one revolution share
+ * a slot with nearer ones and are simply skipped until their tick comes round.
+ *
+ * {@link #in} must be called on the server thread; other threads use {@link #submit},
+ * which hands the task over through a lock-free queue drained at the start of the next server tick.
+ *
+ * A task may be bound to a chunk. If that chunk is not loaded when the task comes due, the task
+ * is parked instead of run (so it can never pull the chunk in), and on the chunk's next load it is
+ * either put back on the wheel or dropped, depending on its {@link ChunkPolicy}.
+ */
 public final class TickTasks {
-    private record Task(int ticksLeft, Runnable run) {}
-    private static final Map<ServerWorld, List<Task>> TASKS = new WeakHashMap<>();
-    private static boolean registered = false;
-
-    public static void in(ServerWorld world, int ticks, Runnable action) {
-        TASKS.computeIfAbsent(world, w -> new ArrayList<>()).add(new Task(ticks, action));
-        if (!registered) {
-            registered = true;
-            ServerTickEvents.END_WORLD_TICK.register(TickTasks::onWorldTick);
+    private static final int WHEEL_BITS = 9; // 512 ticks per revolution
+
+    /** Returned by every schedule call; lets the caller drop a task before it runs. */
+    public interface Handle {
+        void cancel();
+
+        boolean isDone();
+    }
+
+    /** What happens to a chunk-bound task that came due while its chunk was unloaded. */
+    public enum ChunkPolicy {
+        /** Run it on the tick after the chunk loads again. */
+        RESUME,
+        /** Forget it once the chunk loads again. */
+        DROP
+    }
+
+    public record Stats(long executed, long dropped, int parked) {}
+
+    private static final long UNBOUND = Long.MIN_VALUE;
+
+    private static final class Task extends TimingWheel.Node<Task> implements Handle {
+        private ServerWorld world; // only set for cross-thread submissions, cleared on hand-over
+        private final int delay;
+        private final long chunk;
+        private final ChunkPolicy policy;
+        private Runnable run;
+        private volatile boolean done;
+
+        private Task(ServerWorld world, int delay, long chunk, ChunkPolicy policy, Runnable run) {
+            this.world = world;
+            this.delay = delay;
+            this.chunk = chunk;
+            this.policy = policy;
+            this.run = run;
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
         }
     }
 
-    private static void onWorldTick(ServerWorld world) {
-        var list = TASKS.get(world);
-        if (list == null || list.isEmpty()) return;
-        var it = list.listIterator();
-        while (it.hasNext()) {
-            Task t = it.next();
-            int left = t.ticksLeft() - 1;
-            if (left <= 0) {
-                try { t.run().run(); } finally { it.remove(); }
-            } else {
-                it.set(new Task(left, t.run()));
+    private static final class Wheel {
+        private final TimingWheel<Task> wheel = new TimingWheel<>(WHEEL_BITS);
+        private final Long2ObjectOpenHashMap<Task> parked = new Long2ObjectOpenHashMap<>();
+        private long executed;
+        private long dropped;
+        private int parkedCount;
+
+        private void add(Task task) {
+            // a zero delay still waits for the end of the current tick, like before
+            wheel.scheduleIn(task, task.delay);
+        }
+
+        private void advance(ServerWorld world) {
+            Task task = wheel.advance();
+            if (task == null) return;
+
+            long start = System.nanoTime();
+            long executedBefore = executed;
+            long now = wheel.now();
+            while (task != null) {
+                Task next = task.next();
+                task.setNext(null);
+                if (task.done) {
+                    task.run = null;
+                } else if (task.due() > now) {
+                    wheel.schedule(task, task.due()); // a later revolution, same slot
+                } else if (task.chunk != UNBOUND
+                        && !world.isChunkLoaded(ChunkPos.getPackedX(task.chunk), ChunkPos.getPackedZ(task.chunk))) {
+                    task.setNext(parked.put(task.chunk, task));
+                    parkedCount++;
+                } else {
+                    Runnable run = task.run;
+                    task.run = null;
+                    task.done = true;
+                    executed++;
+                    try {
+                        run.run();
+                    } catch (RuntimeException e) {
+                        // keep draining the slot; one broken task must not take the rest with it
+                        DuoyunBlocks.LOGGER.error("Tick task failed", e);
+                    }
+                }
+                task = next;
+            }
+            DuoyunMetrics.recordTaskDrain(start, (int) (executed - executedBefore));
+        }
+
+        private void unpark(long chunk) {
+            Task task = parked.remove(chunk);
+            while (task != null) {
+                Task next = task.next();
+                task.setNext(null);
+                parkedCount--;
+                if (task.done) {
+                    task.run = null;
+                } else if (task.policy == ChunkPolicy.RESUME) {
+                    // not from inside the load callback; the chunk may still be settling in
+                    wheel.scheduleIn(task, 1);
+                } else {
+                    task.run = null;
+                    task.done = true;
+                    dropped++;
+                }
+                task = next;
             }
         }
     }
+
+    private static final Map<ServerWorld, Wheel> WHEELS = new WeakHashMap<>();
+    private static final ConcurrentLinkedQueue<Task> INBOX = new ConcurrentLinkedQueue<>();
+
+    public static void init() {
+        ServerTickEvents.START_SERVER_TICK.register(server -> drainInbox());
+        ServerTickEvents.END_WORLD_TICK.register(TickTasks::onWorldTick);
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            Wheel wheel = WHEELS.get(world);
+            if (wheel != null && wheel.parkedCount > 0) wheel.unpark(chunk.getPos().toLong());
+        });
+    }
+
+    /** Runs {@code action} on the server thread after {@code ticks} world ticks. Server thread only. */
+    public static Handle in(ServerWorld world, int ticks, Runnable action) {
+        return in(world, null, ChunkPolicy.RESUME, ticks, action);
+    }
+
+    /**
+     * Like {@link #in(ServerWorld, int, Runnable)}, but the task only runs while {@code chunk} is loaded.
+     * A null chunk means unbound.
+     */
+    public static Handle in(ServerWorld world, ChunkPos chunk, ChunkPolicy policy, int ticks, Runnable action) {
+        return in(world, chunk == null ? UNBOUND : chunk.toLong(), policy, ticks, action);
+    }
+
+    /** Like {@link #in(ServerWorld, ChunkPos, ChunkPolicy, int, Runnable)} with a packed {@link ChunkPos#toLong()}. */
+    public static Handle in(ServerWorld world, long chunk, ChunkPolicy policy, int ticks, Runnable action) {
+        Task task = new Task(null, ticks, chunk, policy, action);
+        WHEELS.computeIfAbsent(world, w -> new Wheel()).add(task);
+        return task;
+    }
+
+    /** Thread-safe variant of {@link #in}; the delay starts once the server thread picks the task up. */
+    public static Handle submit(ServerWorld world, int ticks, Runnable action) {
+        Task task = new Task(world, ticks, UNBOUND, ChunkPolicy.RESUME, action);
+        INBOX.add(task);
+        return task;
+    }
+
+    private static void drainInbox() {
+        Task task;
+        while ((task = INBOX.poll()) != null) {
+            ServerWorld world = task.world;
+            task.world = null; // the wheel map must not keep its own key alive
+            if (task.done) continue;
+            WHEELS.computeIfAbsent(world, w -> new Wheel()).add(task);
+        }
+    }
+
+    /** Executed/dropped totals and the current number of parked tasks for a world. */
+    public static Stats stats(ServerWorld world) {
+        Wheel wheel = WHEELS.get(world);
+        return wheel == null ? new Stats(0, 0, 0) : new Stats(wheel.executed, wheel.dropped, wheel.parkedCount);
+    }
+
+    private static void onWorldTick(ServerWorld world) {
+        Wheel wheel = WHEELS.get(world);
+        if (wheel != null) wheel.advance(world);
+    }
+
     private TickTasks() {}
-}
\ No newline at end of file
+}